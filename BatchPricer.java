@@ -0,0 +1,65 @@
+/**
+ * Prices columnar batches of (item id, quantity) pairs for bulk revaluation.
+ *
+ * Uses the jdk.incubator.vector kernel in incubator/ when it was compiled and
+ * the JVM runs with --add-modules jdk.incubator.vector, otherwise the scalar
+ * loop below. -Dpricing.vector=false forces the scalar loop.
+ * Ids outside the catalog are skipped. The vector kernel sums in a different
+ * order than the scalar loop, so totals can differ in the last bits.
+ */
+final class BatchPricer {
+
+    interface Kernel {
+        double total(double[] prices, int[] ids, int[] quantities, int len);
+    }
+
+    static final Kernel SCALAR = BatchPricer::scalarTotal;
+    static final Kernel KERNEL = loadKernel();
+
+    private BatchPricer() {
+    }
+
+    static double total(Catalog catalog, int[] ids, int[] quantities, int len) {
+        double[] prices = catalog.priceArray();
+        if (prices == null) {
+            // off-heap catalog, nothing to gather from
+            int count = catalog.size();
+            double total = 0.0;
+            for (int i = 0; i < len; i++) {
+                int id = ids[i];
+                if (id >= 0 && id < count) {
+                    total += catalog.priceAt(id) * quantities[i];
+                }
+            }
+            return total;
+        }
+        return KERNEL.total(prices, ids, quantities, len);
+    }
+
+    static double scalarTotal(double[] prices, int[] ids, int[] quantities, int len) {
+        double total = 0.0;
+        for (int i = 0; i < len; i++) {
+            int id = ids[i];
+            if (id >= 0 && id < prices.length) {
+                total += prices[id] * quantities[i];
+            }
+        }
+        return total;
+    }
+
+    static boolean isVectorized() {
+        return KERNEL != SCALAR;
+    }
+
+    private static Kernel loadKernel() {
+        if (!Boolean.parseBoolean(System.getProperty("pricing.vector", "true"))
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return SCALAR;
+        }
+        try {
+            return (Kernel) Class.forName("VectorBatchKernel").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return SCALAR;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Blocking client for BinaryPricingServer. Requests are queued with send()
+ * and go out together on flush(), or when the send buffer fills, so a caller
+ * can keep many requests in flight and read the responses back in order with
+ * receive(). price() is the one-at-a-time round trip. Not thread safe, one
+ * client per thread; nothing is allocated per request.
+ *
+ * The server stops reading from a client that stops reading responses, so
+ * keep the number of unanswered requests to what the socket buffers can hold
+ * (a few thousand small carts) or send and receive from separate threads.
+ */
+final class BinaryPricingClient implements Closeable {
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final SocketChannel channel;
+    private final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private int requestId;
+    private double total;
+    private int tokens;
+
+    BinaryPricingClient(InetSocketAddress address) throws IOException {
+        channel = SocketChannel.open(address);
+        channel.socket().setTcpNoDelay(true);
+        in.flip();
+    }
+
+    /** queues one request, writing out earlier ones first if they fill the buffer */
+    void send(int requestId, int[] ids, int[] quantities, int len) throws IOException {
+        if (len < 0 || len > BinaryPricingServer.MAX_ITEMS) {
+            throw new IllegalArgumentException("between 0 and " + BinaryPricingServer.MAX_ITEMS + " items: " + len);
+        }
+        int length = 8 + 8 * len;
+        if (out.remaining() < 4 + length) {
+            flush();
+        }
+        out.putInt(length).putInt(requestId).putInt(len);
+        for (int i = 0; i < len; i++) {
+            out.putInt(ids[i]).putInt(quantities[i]);
+        }
+    }
+
+    void flush() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    /** blocks for the next response; read it with requestId(), total() and tokens() */
+    void receive() throws IOException {
+        while (in.remaining() < BinaryPricingServer.RESPONSE_BYTES) {
+            in.compact();
+            int read = channel.read(in);
+            in.flip();
+            if (read < 0) {
+                throw new EOFException("server closed the connection");
+            }
+        }
+        int length = in.getInt();
+        if (length != BinaryPricingServer.RESPONSE_BYTES - 4) {
+            throw new IOException("bad response length " + length);
+        }
+        requestId = in.getInt();
+        total = in.getDouble();
+        tokens = in.getInt();
+    }
+
+    /** whether receive() has a response buffered and won't block */
+    boolean hasResponse() {
+        return in.remaining() >= BinaryPricingServer.RESPONSE_BYTES;
+    }
+
+    /** one round trip, returns the total */
+    double price(int[] ids, int[] quantities, int len) throws IOException {
+        send(0, ids, quantities, len);
+        flush();
+        receive();
+        return total;
+    }
+
+    int requestId() {
+        return requestId;
+    }
+
+    double total() {
+        return total;
+    }
+
+    int tokens() {
+        return tokens;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
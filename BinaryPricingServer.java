@@ -0,0 +1,272 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binary pricing protocol on one non-blocking Selector thread, for clients
+ * that already hold item ids and can't afford HTTP framing.
+ *
+ * Frames are length prefixed and big endian:
+ *   request:  int length, int requestId, int count, count x (int itemId, int quantity)
+ *   response: int length (16), int requestId, double total, int tokens
+ * where length counts the bytes after the length field. Unknown ids are
+ * skipped like unknown names. Responses come back in request order.
+ *
+ * A client may send any number of requests without waiting; everything that
+ * arrives in one read is priced and answered with one write. When a client
+ * stops reading its responses the server stops reading its requests. Each
+ * connection has a pair of direct buffers, taken from a free list and given
+ * back on close, and ids are unpacked into scratch arrays owned by the loop,
+ * so serving a request allocates nothing. A malformed frame or a failed
+ * read or write closes that connection only. When accept fails, e.g. out of
+ * file descriptors, the server stops accepting until a connection closes or
+ * a short pause has passed, and keeps serving the connections it has.
+ * close() closes every connection along with the listener.
+ */
+final class BinaryPricingServer implements Closeable {
+    static final int MAX_ITEMS = 4096;
+    static final int RESPONSE_BYTES = 20;
+    private static final int MAX_REQUEST_BYTES = 12 + 8 * MAX_ITEMS;
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final long ACCEPT_RETRY_MILLIS = 100;
+
+    private final Selector selector;
+    private final ServerSocketChannel listener;
+    private final SelectionKey accepting;
+    private final Thread loop;
+    private volatile boolean closing;
+    private boolean acceptPaused;
+    private long acceptRetryAt;
+    private final ArrayDeque<ByteBuffer> freeBuffers = new ArrayDeque<ByteBuffer>();
+    private final int[] ids = new int[MAX_ITEMS];
+    private final int[] quantities = new int[MAX_ITEMS];
+
+    private static final class Connection {
+        final SocketChannel channel;
+        final ByteBuffer in;   // requests received, not yet priced
+        final ByteBuffer out;  // responses not yet written
+
+        Connection(SocketChannel channel, ByteBuffer in, ByteBuffer out) {
+            this.channel = channel;
+            this.in = in;
+            this.out = out;
+        }
+    }
+
+    private BinaryPricingServer(Selector selector, ServerSocketChannel listener, SelectionKey accepting) {
+        this.selector = selector;
+        this.listener = listener;
+        this.accepting = accepting;
+        this.loop = new Thread(this::run, "binary-pricing");
+        this.loop.setDaemon(true);
+    }
+
+    /** binds and starts the selector thread, port 0 picks a free port */
+    static BinaryPricingServer start(InetSocketAddress address) throws IOException {
+        Selector selector = Selector.open();
+        ServerSocketChannel listener = ServerSocketChannel.open();
+        SelectionKey accepting;
+        try {
+            listener.bind(address, 1024);
+            listener.configureBlocking(false);
+            accepting = listener.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            listener.close();
+            selector.close();
+            throw e;
+        }
+        BinaryPricingServer server = new BinaryPricingServer(selector, listener, accepting);
+        server.loop.start();
+        return server;
+    }
+
+    InetSocketAddress address() throws IOException {
+        return (InetSocketAddress) listener.getLocalAddress();
+    }
+
+    /** stops the loop, which closes every connection, the listener and the selector */
+    @Override
+    public void close() throws IOException {
+        closing = true;
+        selector.wakeup();
+        try {
+            loop.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            while (!closing) {
+                if (acceptPaused) {
+                    selector.select(ACCEPT_RETRY_MILLIS);
+                    if (System.nanoTime() - acceptRetryAt >= 0) {
+                        resumeAccepting();
+                    }
+                } else {
+                    selector.select();
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Connection connection = (Connection) key.attachment();
+                    try {
+                        if (key.isWritable()) {
+                            serve(key, connection);
+                        }
+                        if (key.isValid() && key.isReadable()) {
+                            if (connection.channel.read(connection.in) < 0) {
+                                close(key, connection);
+                                continue;
+                            }
+                            serve(key, connection);
+                        }
+                    } catch (IOException e) {
+                        close(key, connection);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // only select() gets here, the selector itself is broken
+            System.err.println("binary pricing server stopped: " + e.getMessage());
+        } finally {
+            shutDown();
+        }
+    }
+
+    private void accept() {
+        while (true) {
+            SocketChannel channel;
+            try {
+                channel = listener.accept();
+            } catch (IOException e) {
+                // the connection stays in the backlog; retry once one closes or after a pause
+                System.err.println("binary pricing server could not accept: " + e.getMessage());
+                accepting.interestOps(0);
+                acceptPaused = true;
+                acceptRetryAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ACCEPT_RETRY_MILLIS);
+                return;
+            }
+            if (channel == null) {
+                return;
+            }
+            try {
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+                channel.register(selector, SelectionKey.OP_READ, new Connection(channel, buffer(), buffer()));
+            } catch (IOException e) {
+                closeQuietly(channel);
+            }
+        }
+    }
+
+    private void resumeAccepting() {
+        if (acceptPaused) {
+            acceptPaused = false;
+            accepting.interestOps(SelectionKey.OP_ACCEPT);
+        }
+    }
+
+    private void shutDown() {
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof Connection) {
+                close(key, (Connection) key.attachment());
+            }
+        }
+        closeQuietly(listener);
+        closeQuietly(selector);
+    }
+
+    /**
+     * Prices every complete request that has room for its response, writes what
+     * it can, and picks the interest set: keep reading while responses drain,
+     * wait for writability when they don't.
+     */
+    private void serve(SelectionKey key, Connection connection) throws IOException {
+        ByteBuffer in = connection.in;
+        ByteBuffer out = connection.out;
+        boolean more = true;
+        while (more) {
+            in.flip();
+            while (in.remaining() >= 4 && out.remaining() >= RESPONSE_BYTES) {
+                int at = in.position();
+                int length = in.getInt(at);
+                if (length < 8 || length > MAX_REQUEST_BYTES - 4 || (length - 8) % 8 != 0) {
+                    throw new IOException("bad frame length " + length);
+                }
+                if (in.remaining() < 4 + length) {
+                    break;
+                }
+                int requestId = in.getInt(at + 4);
+                int count = in.getInt(at + 8);
+                if (count != (length - 8) / 8) {
+                    throw new IOException("item count " + count + " does not match frame length " + length);
+                }
+                int item = at + 12;
+                for (int i = 0; i < count; i++, item += 8) {
+                    ids[i] = in.getInt(item);
+                    quantities[i] = in.getInt(item + 4);
+                }
+                in.position(at + 4 + length);
+
+                double total = ItemValueCalculator.totalOf(ids, quantities, count);
+                out.putInt(RESPONSE_BYTES - 4).putInt(requestId).putDouble(total).putInt((int) (total / 1000));
+            }
+            in.compact();
+
+            out.flip();
+            connection.channel.write(out);
+            boolean drained = !out.hasRemaining();
+            out.compact();
+            // the write made room, price whatever was held back for lack of it
+            more = drained && in.position() >= 12 && in.position() >= 4 + in.getInt(0);
+        }
+
+        if (out.position() > 0) {
+            key.interestOps(SelectionKey.OP_WRITE);
+        } else {
+            key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    private void close(SelectionKey key, Connection connection) {
+        key.cancel();
+        closeQuietly(connection.channel);
+        connection.in.clear();
+        connection.out.clear();
+        freeBuffers.push(connection.in);
+        freeBuffers.push(connection.out);
+        // a descriptor came free
+        resumeAccepting();
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // nothing left to do with it
+        }
+    }
+
+    private ByteBuffer buffer() {
+        ByteBuffer buffer = freeBuffers.poll();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(BUFFER_BYTES);
+    }
+}
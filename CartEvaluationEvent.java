@@ -0,0 +1,54 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event for a pricing call that took longer
+ * than the threshold (1 ms unless the recording's settings say otherwise,
+ * e.g. pricing.CartEvaluation#threshold=100 us). The duration is the whole
+ * call. On sampled calls (see PricingMetrics) parse and lookup time split it
+ * into scanning entries and catalog lookups, so a slow cart can be told apart
+ * from a GC or safepoint pause that landed in the middle of it; on the rest
+ * they are 0, because reading the clock per entry costs more than the lookup.
+ */
+@Name("pricing.CartEvaluation")
+@Label("Cart Evaluation")
+@Category("Pricing")
+@Description("A cart priced by ItemValueCalculator.calculateTotal")
+@Threshold("1 ms")
+final class CartEvaluationEvent extends Event {
+    @Label("Cart Length")
+    @Description("Characters, bytes or item ids in the cart, depending on how it was priced")
+    int cartLength;
+
+    @Label("Item Count")
+    @Description("Entries with a valid format and quantity")
+    int itemCount;
+
+    @Label("Miss Count")
+    @Description("Entries naming an item that is not in the catalog")
+    int missCount;
+
+    @Label("Invalid Count")
+    @Description("Entries with a bad quantity or format")
+    int invalidCount;
+
+    @Label("Total")
+    double total;
+
+    @Label("Parse Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long parseTime;
+
+    @Label("Lookup Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long lookupTime;
+
+    @Label("Retries")
+    @Description("Times the cart was priced again because a live price update landed during it")
+    int retries;
+}
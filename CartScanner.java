@@ -0,0 +1,215 @@
+import java.nio.ByteBuffer;
+
+/**
+ * Single pass scanner over a cart like "diamond 5, iron_ingot 32".
+ * Walks the input once and reports the name span and quantity of each entry
+ * without creating substrings, so callers can price a cart with no garbage.
+ *
+ * Entries follow the same rules as input.split(",") + trim() + split("\\s+"):
+ * one token means quantity 1, two tokens means name and quantity, anything
+ * else is an invalid format. Trailing empty entries are dropped like split does.
+ *
+ * The input is chars (Strings, decoded stream windows) or UTF-8 bytes (order
+ * files priced without decoding them into Strings); the rules are the same
+ * for both, only at() and lookup() look at which one is set. Two differences
+ * come from never decoding bytes: quantities must be ASCII digits, and
+ * malformed UTF-8 is compared as raw bytes. Only absolute gets are used on a
+ * ByteBuffer, it is not moved.
+ *
+ * For streamed input, resume() scans one buffer window at a time: an entry that
+ * is not terminated by a comma before the window ends is left for the next
+ * window, and position() tells where the unconsumed part starts.
+ */
+final class CartScanner {
+    static final int END = 0;
+    static final int ITEM = 1;
+    static final int INVALID_QUANTITY = 2;
+    static final int INVALID_FORMAT = 3;
+
+    // exactly one is set
+    private CharSequence chars;
+    private ByteBuffer bytes;
+    private int end;
+    private int pos;
+    private int emptyRunEnd;
+    private boolean endOfInput;
+    private boolean sawInput;
+
+    // valid after next() returned ITEM
+    int nameStart;
+    int nameEnd;
+    int quantity;
+
+    CartScanner reset(CharSequence input, int from, int to) {
+        sawInput = false;
+        return resume(input, from, to, true);
+    }
+
+    CartScanner reset(ByteBuffer input, int from, int to) {
+        sawInput = false;
+        return resume(input, from, to, true);
+    }
+
+    /** continues a streamed cart with the next window, see position() */
+    CartScanner resume(CharSequence input, int from, int to, boolean endOfInput) {
+        this.chars = input;
+        this.bytes = null;
+        window(from, to, endOfInput);
+        return this;
+    }
+
+    /** continues a large byte input with the next window, see position() */
+    CartScanner resume(ByteBuffer input, int from, int to, boolean endOfInput) {
+        this.chars = null;
+        this.bytes = input;
+        window(from, to, endOfInput);
+        return this;
+    }
+
+    /** catalog id of the name span after next() returned ITEM, -1 if unknown */
+    int lookup(Catalog catalog) {
+        return chars != null
+            ? catalog.indexOf(chars, nameStart, nameEnd)
+            : catalog.indexOf(bytes, nameStart, nameEnd);
+    }
+
+    private void window(int from, int to, boolean endOfInput) {
+        this.end = to;
+        this.pos = from;
+        this.emptyRunEnd = from;
+        this.endOfInput = endOfInput;
+        this.sawInput |= to > from;
+    }
+
+    /** start of the part of the window that next() has not consumed yet */
+    int position() {
+        return Math.min(pos, end);
+    }
+
+    int next() {
+        int from = pos;
+        if (from > end) {
+            return END;
+        }
+
+        int stop = from;
+        while (stop < end && at(stop) != ',') {
+            stop++;
+        }
+        if (stop == end && !endOfInput) {
+            // rest of the entry is in the next window
+            return END;
+        }
+
+        if (stop == from && from >= emptyRunEnd && sawInput) {
+            // split(",") drops trailing empty entries
+            int q = from;
+            while (q < end && at(q) == ',') {
+                q++;
+            }
+            if (q == end) {
+                if (endOfInput) {
+                    pos = end + 1;
+                }
+                return END;
+            }
+            emptyRunEnd = q;
+        }
+        pos = stop + 1;
+
+        // trim(); bytes of multi-byte UTF-8 sequences read as 0x80 and up, never trimmed
+        int s = from;
+        int e = stop;
+        while (s < e && at(s) <= ' ') {
+            s++;
+        }
+        while (e > s && at(e - 1) <= ' ') {
+            e--;
+        }
+
+        int firstEnd = s;
+        while (firstEnd < e && !isSpace(at(firstEnd))) {
+            firstEnd++;
+        }
+        if (firstEnd == e) {
+            nameStart = s;
+            nameEnd = e;
+            quantity = 1;
+            return ITEM;
+        }
+
+        int secondStart = firstEnd + 1;
+        while (isSpace(at(secondStart))) {
+            secondStart++;
+        }
+        int secondEnd = secondStart;
+        while (secondEnd < e && !isSpace(at(secondEnd))) {
+            secondEnd++;
+        }
+        if (secondEnd != e) {
+            return INVALID_FORMAT;
+        }
+        if (!parseQuantity(secondStart, e)) {
+            return INVALID_QUANTITY;
+        }
+        nameStart = s;
+        nameEnd = firstEnd;
+        return ITEM;
+    }
+
+    // the char, or the unsigned byte, at index; a branch rather than a subclass per
+    // input so the JIT keeps one tight next() when both kinds are priced in one process
+    private int at(int index) {
+        return chars != null ? chars.charAt(index) : bytes.get(index) & 0xFF;
+    }
+
+    // same rules as Integer.parseInt, without the String. Bytes never pass the
+    // Character.digit fallback, Latin-1 has no digits past ASCII, so raw UTF-8
+    // quantities must be ASCII digits.
+    private boolean parseQuantity(int from, int to) {
+        boolean negative = false;
+        int limit = -Integer.MAX_VALUE;
+        int i = from;
+
+        int first = at(i);
+        if (first < '0') {
+            if (first == '-') {
+                negative = true;
+                limit = Integer.MIN_VALUE;
+            } else if (first != '+') {
+                return false;
+            }
+            if (++i == to) {
+                return false;
+            }
+        }
+
+        int multmin = limit / 10;
+        int result = 0;
+        while (i < to) {
+            int c = at(i++);
+            int digit = c - '0';
+            if (digit < 0 || digit > 9) {
+                digit = Character.digit(c, 10);
+                if (digit < 0) {
+                    return false;
+                }
+            }
+            if (result < multmin) {
+                return false;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return false;
+            }
+            result -= digit;
+        }
+        quantity = negative ? result : -result;
+        return true;
+    }
+
+    // the \s class used by split("\\s+")
+    static boolean isSpace(int c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+}
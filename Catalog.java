@@ -0,0 +1,52 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Read-only item catalog behind ItemValueCalculator. Items have dense ids
+ * from 0 to size() - 1.
+ *
+ * PriceTable keeps everything on the heap; MappedCatalog reads a memory
+ * mapped catalog.bin so processes on one host share a single page cache copy.
+ * LiveCatalog wraps either one and lets single prices change in place.
+ */
+interface Catalog {
+
+    int size();
+
+    /** id of the name in s[from, to), or -1 if it is not in the catalog */
+    int indexOf(CharSequence s, int from, int to);
+
+    /** id of the UTF-8 name in bytes[from, to), or -1; decodes unless a backend can match raw bytes */
+    default int indexOf(ByteBuffer bytes, int from, int to) {
+        byte[] name = new byte[to - from];
+        bytes.get(from, name, 0, name.length);
+        String decoded = new String(name, StandardCharsets.UTF_8);
+        return indexOf(decoded, 0, decoded.length());
+    }
+
+    String nameAt(int id);
+
+    double priceAt(int id);
+
+    /** price in hundredths, see ItemValueCalculator.PRICE_SCALE */
+    long fixedPriceAt(int id);
+
+    /**
+     * Prices indexed by id for batch kernels, or null when they are not on the heap.
+     * Shared, callers must not write to it.
+     */
+    double[] priceArray();
+
+    /**
+     * Version to price one cart against. Catalogs that never change return 0;
+     * LiveCatalog waits until no price update is in flight.
+     */
+    default long pinVersion() {
+        return 0;
+    }
+
+    /** false if prices changed since pinVersion returned this version, price the cart again */
+    default boolean isVersionCurrent(long version) {
+        return true;
+    }
+}
@@ -0,0 +1,243 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Binary catalog snapshot, read with one bulk read at startup instead of
+ * running the DefaultCatalog initializer.
+ *
+ * Layout (big endian):
+ *   int magic, int version, int count, int seed, int bucketCount, int reserved,
+ *   double[count] prices,
+ *   int[bucketCount] displacements, int[count] slotIds,
+ *   int[count] nameOffsets,
+ *   count x (unsigned short length, UTF-8 name bytes)
+ * Item ids are positions in the file. The perfect hash is stored too, so
+ * loading does not have to search for displacements again, and the name
+ * offsets let MappedCatalog use the file in place.
+ *
+ * Run "java CatalogSnapshot [file]" to write catalog.bin from DefaultCatalog.
+ */
+class CatalogSnapshot {
+    static final String DEFAULT_FILE = "catalog.bin";
+    static final String PATH_PROPERTY = "catalog.snapshot";
+    static final String BACKEND_PROPERTY = "catalog.backend";
+
+    private static final int MAGIC = 0x49544D43; // "ITMC"
+    private static final int VERSION = 2;
+    // 24 bytes keeps the price array 8 byte aligned
+    private static final int HEADER_BYTES = 24;
+
+    /** section offsets of a snapshot, taken from its header */
+    static final class Layout {
+        int count;
+        int seed;
+        int bucketCount;
+        int pricesAt;
+        int displacementsAt;
+        int slotIdsAt;
+        int nameOffsetsAt;
+        int namesAt;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file = Paths.get(args.length > 0 ? args[0] : DEFAULT_FILE);
+        PriceTable table = fromDefaultCatalog();
+        write(file, table);
+        System.out.println("wrote " + table.size() + " items to " + file + " (" + Files.size(file) + " bytes)");
+    }
+
+    /**
+     * Loads the catalog from the file named by -Dcatalog.snapshot, else catalog.bin in
+     * the working directory or on the classpath, else the DefaultCatalog table.
+     * With -Dcatalog.backend=mapped the file is memory mapped instead of read.
+     */
+    static Catalog loadDefault() {
+        try {
+            String path = System.getProperty(PATH_PROPERTY);
+            Path file = path != null ? Paths.get(path) : Paths.get(DEFAULT_FILE);
+            if (path != null || Files.isRegularFile(file) || isMapped()) {
+                return load(file);
+            }
+            try (InputStream in = CatalogSnapshot.class.getResourceAsStream("/" + DEFAULT_FILE)) {
+                if (in != null) {
+                    return decode(ByteBuffer.wrap(in.readAllBytes()));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("could not load catalog snapshot", e);
+        }
+        return fromDefaultCatalog();
+    }
+
+    /** reads the snapshot file with the backend picked by -Dcatalog.backend */
+    static Catalog load(Path file) throws IOException {
+        return isMapped() ? MappedCatalog.open(file) : read(file);
+    }
+
+    private static boolean isMapped() {
+        String backend = System.getProperty(BACKEND_PROPERTY, "heap");
+        if (!backend.equals("mapped") && !backend.equals("heap")) {
+            throw new IllegalArgumentException("unknown " + BACKEND_PROPERTY + ": " + backend);
+        }
+        return backend.equals("mapped");
+    }
+
+    static PriceTable fromDefaultCatalog() {
+        HashMap<String, Double> itemValues = DefaultCatalog.itemValues();
+        String[] names = itemValues.keySet().toArray(new String[0]);
+        Arrays.sort(names);
+        double[] prices = new double[names.length];
+        for (int i = 0; i < names.length; i++) {
+            prices[i] = itemValues.get(names[i]);
+        }
+        return PriceTable.build(names, prices);
+    }
+
+    static PriceTable read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException(file + " is too large for a catalog snapshot");
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException(file + " was truncated while reading");
+                }
+            }
+            buffer.flip();
+            return decode(buffer);
+        }
+    }
+
+    static PriceTable decode(ByteBuffer buffer) throws IOException {
+        Layout layout = layout(buffer);
+        verify(buffer, layout);
+        int count = layout.count;
+
+        double[] prices = new double[count];
+        buffer.position(layout.pricesAt);
+        buffer.asDoubleBuffer().get(prices);
+        int[] displacements = new int[layout.bucketCount];
+        buffer.position(layout.displacementsAt);
+        buffer.asIntBuffer().get(displacements);
+        int[] slotIds = new int[count];
+        buffer.position(layout.slotIdsAt);
+        buffer.asIntBuffer().get(slotIds);
+
+        String[] names = new String[count];
+        byte[] array = buffer.array();
+        for (int i = 0; i < count; i++) {
+            int at = buffer.getInt(layout.nameOffsetsAt + i * Integer.BYTES);
+            int length = buffer.getShort(at) & 0xFFFF;
+            names[i] = new String(array, buffer.arrayOffset() + at + 2, length, StandardCharsets.UTF_8);
+        }
+        try {
+            return PriceTable.of(layout.seed, displacements, slotIds, names, prices);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("corrupt catalog snapshot, " + e.getMessage(), e);
+        }
+    }
+
+    static Layout layout(ByteBuffer buffer) throws IOException {
+        int size = buffer.limit();
+        if (size < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("not a catalog snapshot");
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("unsupported catalog snapshot version " + version);
+        }
+
+        Layout layout = new Layout();
+        layout.count = buffer.getInt(8);
+        layout.seed = buffer.getInt(12);
+        layout.bucketCount = buffer.getInt(16);
+        long count = layout.count;
+        long bucketCount = layout.bucketCount;
+        long namesAt = HEADER_BYTES + count * (Double.BYTES + 2 * Integer.BYTES) + bucketCount * Integer.BYTES;
+        if (count < 0 || bucketCount < 0 || namesAt > size) {
+            throw new IOException("corrupt catalog snapshot, bad item count " + count);
+        }
+        layout.pricesAt = HEADER_BYTES;
+        layout.displacementsAt = layout.pricesAt + layout.count * Double.BYTES;
+        layout.slotIdsAt = layout.displacementsAt + layout.bucketCount * Integer.BYTES;
+        layout.nameOffsetsAt = layout.slotIdsAt + layout.count * Integer.BYTES;
+        layout.namesAt = (int) namesAt;
+        return layout;
+    }
+
+    /** checks that every slot id and name offset stays inside the snapshot */
+    static void verify(ByteBuffer buffer, Layout layout) throws IOException {
+        int size = buffer.limit();
+        for (int i = 0; i < layout.count; i++) {
+            int id = buffer.getInt(layout.slotIdsAt + i * Integer.BYTES);
+            if (id < 0 || id >= layout.count) {
+                throw new IOException("corrupt catalog snapshot, perfect hash slot points outside the catalog: " + id);
+            }
+            int at = buffer.getInt(layout.nameOffsetsAt + i * Integer.BYTES);
+            if (at < layout.namesAt || at > size - 2 || at + 2 + (buffer.getShort(at) & 0xFFFF) > size) {
+                throw new IOException("corrupt catalog snapshot, truncated at item " + i);
+            }
+        }
+    }
+
+    static void write(Path file, PriceTable table) throws IOException {
+        int count = table.size();
+        int[] displacements = table.displacements();
+        byte[][] encoded = new byte[count][];
+        int namesAt = HEADER_BYTES + count * (Double.BYTES + 2 * Integer.BYTES) + displacements.length * Integer.BYTES;
+        int size = namesAt;
+        for (int i = 0; i < count; i++) {
+            encoded[i] = table.nameAt(i).getBytes(StandardCharsets.UTF_8);
+            if (encoded[i].length > 0xFFFF) {
+                throw new IllegalArgumentException("item name too long: " + table.nameAt(i));
+            }
+            size += 2 + encoded[i].length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(table.seed()).putInt(displacements.length).putInt(0);
+        for (int i = 0; i < count; i++) {
+            buffer.putDouble(table.priceAt(i));
+        }
+        for (int d : displacements) {
+            buffer.putInt(d);
+        }
+        for (int id : table.slotIds()) {
+            buffer.putInt(id);
+        }
+        int at = namesAt;
+        for (byte[] name : encoded) {
+            buffer.putInt(at);
+            at += 2 + name.length;
+        }
+        for (byte[] name : encoded) {
+            buffer.putShort((short) name.length).put(name);
+        }
+        buffer.flip();
+
+        // written next to the target and renamed over it, so a process that has the
+        // old file mapped keeps seeing the old catalog until it reloads
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
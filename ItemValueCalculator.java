@@ -1,1367 +1,609 @@
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class ItemValueCalculator {
-    private static HashMap<String, Double> itemValues = new HashMap<String, Double>();
+    /** fixed point prices and totals are in hundredths */
+    public static final int PRICE_SCALE = 100;
     
-    static {
-        itemValues.put("acacia_boat", 10.9);
-        itemValues.put("acacia_button", 2.27);
-        itemValues.put("acacia_chest_boat", 27.51);
-        itemValues.put("acacia_door", 4.31);
-        itemValues.put("acacia_fence", 10.75);
-        itemValues.put("acacia_fence_gate", 8.57);
-        itemValues.put("acacia_hanging_sign", 16.49);
-        itemValues.put("acacia_leaves", 2.2);
-        itemValues.put("acacia_log", 9.06);
-        itemValues.put("acacia_planks", 2.27);
-        itemValues.put("acacia_pressure_plate", 4.49);
-        itemValues.put("acacia_sapling", 1.8);
-        itemValues.put("acacia_sign", 4.62);
-        itemValues.put("acacia_slab", 1.11);
-        itemValues.put("acacia_stairs", 3.23);
-        itemValues.put("acacia_trapdoor", 6.47);
-        itemValues.put("acacia_wood", 11.72);
-        itemValues.put("activator_rail", 18.02);
-        itemValues.put("allium", 5.5);
-        itemValues.put("amethyst_block", 34.92);
-        itemValues.put("amethyst_cluster", 8.58);
-        itemValues.put("amethyst_shard", 9.0);
-        itemValues.put("ancient_debris", 968.0);
-        itemValues.put("andesite", 1.7);
-        itemValues.put("andesite_slab", 0.83);
-        itemValues.put("andesite_stairs", 2.42);
-        itemValues.put("andesite_wall", 1.61);
-        itemValues.put("angler_pottery_sherd", 497.87);
-        itemValues.put("anvil", 500.97);
-        itemValues.put("apple", 3.3);
-        itemValues.put("archer_pottery_sherd", 497.87);
-        itemValues.put("armadillo_scute", 2.56);
-        itemValues.put("armor_stand", 7.11);
-        itemValues.put("arms_up_pottery_sherd", 497.87);
-        itemValues.put("arrow", 0.54);
-        itemValues.put("axolotl_bucket", 67.31);
-        itemValues.put("azalea", 1.8);
-        itemValues.put("azalea_leaves", 2.2);
-        itemValues.put("azalea_leaves_flowers", 2.6);
-        itemValues.put("azure_bluet", 1.93);
-        itemValues.put("baked_potato", 0.69);
-        itemValues.put("bamboo", 0.81);
-        itemValues.put("bamboo_block", 6.71);
-        itemValues.put("bamboo_button", 3.35);
-        itemValues.put("bamboo_chest_raft", 32.64);
-        itemValues.put("bamboo_door", 6.36);
-        itemValues.put("bamboo_fence", 14.86);
-        itemValues.put("bamboo_fence_gate", 10.62);
-        itemValues.put("bamboo_hanging_sign", 12.48);
-        itemValues.put("bamboo_mosaic", 3.25);
-        itemValues.put("bamboo_mosaic_slab", 1.59);
-        itemValues.put("bamboo_mosaic_stairs", 4.63);
-        itemValues.put("bamboo_planks", 3.35);
-        itemValues.put("bamboo_pressure_plate", 6.63);
-        itemValues.put("bamboo_raft", 16.08);
-        itemValues.put("bamboo_sign", 6.65);
-        itemValues.put("bamboo_slab", 1.64);
-        itemValues.put("bamboo_stairs", 4.77);
-        itemValues.put("bamboo_trapdoor", 9.55);
-        itemValues.put("barrel", 14.73);
-        itemValues.put("basalt", 0.26);
-        itemValues.put("beacon", 27964.18);
-        itemValues.put("beef", 5.5);
-        itemValues.put("beehive", 39.87);
-        itemValues.put("bee_nest", 39.87);
-        itemValues.put("beetroot", 0.66);
-        itemValues.put("beetroot_seeds", 0.22);
-        itemValues.put("beetroot_soup", 5.29);
-        itemValues.put("bell", 147.23);
-        itemValues.put("big_dripleaf", 3.5);
-        itemValues.put("birch_boat", 10.9);
-        itemValues.put("birch_button", 2.27);
-        itemValues.put("birch_chest_boat", 27.51);
-        itemValues.put("birch_door", 4.31);
-        itemValues.put("birch_fence", 10.75);
-        itemValues.put("birch_fence_gate", 8.57);
-        itemValues.put("birch_hanging_sign", 16.49);
-        itemValues.put("birch_leaves", 2.2);
-        itemValues.put("birch_log", 9.06);
-        itemValues.put("birch_planks", 2.27);
-        itemValues.put("birch_pressure_plate", 4.49);
-        itemValues.put("birch_sapling", 1.8);
-        itemValues.put("birch_sign", 4.62);
-        itemValues.put("birch_slab", 1.11);
-        itemValues.put("birch_stairs", 3.23);
-        itemValues.put("birch_trapdoor", 6.47);
-        itemValues.put("birch_wood", 11.72);
-        itemValues.put("black_banner", 55.2);
-        itemValues.put("black_bed", 33.83);
-        itemValues.put("black_bundle", 13.21);
-        itemValues.put("black_candle", 13.7);
-        itemValues.put("black_carpet", 6.34);
-        itemValues.put("black_concrete", 0.89);
-        itemValues.put("black_concrete_powder", 0.89);
-        itemValues.put("black_dye", 3.3);
-        itemValues.put("black_glazed_terracotta", 18.88);
-        itemValues.put("black_harness", 1196.51);
-        itemValues.put("black_shulker_box", 86.01);
-        itemValues.put("black_stained_glass", 1.01);
-        itemValues.put("black_stained_glass_pane", 0.36);
-        itemValues.put("blackstone", 1.54);
-        itemValues.put("blackstone_slab", 0.75);
-        itemValues.put("blackstone_stairs", 2.19);
-        itemValues.put("blackstone_wall", 1.46);
-        itemValues.put("black_terracotta", 15.1);
-        itemValues.put("black_wool", 9.6);
-        itemValues.put("blade_pottery_sherd", 497.87);
-        itemValues.put("blast_furnace", 97.28);
-        itemValues.put("blaze_powder", 7.0);
-        itemValues.put("blaze_rod", 14.0);
-        itemValues.put("blue_banner", 110.75);
-        itemValues.put("blue_bed", 61.9);
-        itemValues.put("blue_bundle", 23.06);
-        itemValues.put("blue_candle", 23.55);
-        itemValues.put("blue_carpet", 12.84);
-        itemValues.put("blue_concrete", 2.03);
-        itemValues.put("blue_concrete_powder", 2.03);
-        itemValues.put("blue_dye", 13.25);
-        itemValues.put("blue_egg", 0.76);
-        itemValues.put("blue_glazed_terracotta", 20.3);
-        itemValues.put("blue_harness", 1205.86);
-        itemValues.put("blue_ice", 116.58);
-        itemValues.put("blue_orchid", 1.1);
-        itemValues.put("blue_shulker_box", 95.86);
-        itemValues.put("blue_stained_glass", 2.16);
-        itemValues.put("blue_stained_glass_pane", 0.77);
-        itemValues.put("blue_terracotta", 16.24);
-        itemValues.put("blue_wool", 19.45);
-        itemValues.put("bolt_armor_trim_smithing_template", 8850.7);
-        itemValues.put("bone", 1.75);
-        itemValues.put("bone_block", 4.8);
-        itemValues.put("bone_meal", 0.58);
-        itemValues.put("book", 6.5);
-        itemValues.put("bookshelf", 30.47);
-        itemValues.put("bordure_indented_banner_pattern", 5.98);
-        itemValues.put("bow", 7.89);
-        itemValues.put("bowl", 1.67);
-        itemValues.put("brain_coral", 2.87);
-        itemValues.put("brain_coral_block", 3.43);
-        itemValues.put("brain_coral_fan", 3.17);
-        itemValues.put("bread", 9.7);
-        itemValues.put("breeze_rod", 28.0);
-        itemValues.put("brewer_pottery_sherd", 497.87);
-        itemValues.put("brewing_stand", 16.78);
-        itemValues.put("brick", 4.12);
-        itemValues.put("bricks", 15.99);
-        itemValues.put("brick_slab", 7.84);
-        itemValues.put("brick_stairs", 22.79);
-        itemValues.put("brick_wall", 15.19);
-        itemValues.put("brown_banner", 62.25);
-        itemValues.put("brown_bed", 37.39);
-        itemValues.put("brown_bundle", 14.45);
-        itemValues.put("brown_candle", 14.95);
-        itemValues.put("brown_carpet", 7.16);
-        itemValues.put("brown_concrete", 1.03);
-        itemValues.put("brown_concrete_powder", 1.03);
-        itemValues.put("brown_dye", 4.56);
-        itemValues.put("brown_egg", 0.76);
-        itemValues.put("brown_glazed_terracotta", 19.05);
-        itemValues.put("brown_harness", 1197.69);
-        itemValues.put("brown_mushroom", 1.1);
-        itemValues.put("brown_mushroom_block", 2.2);
-        itemValues.put("brown_shulker_box", 87.26);
-        itemValues.put("brown_stained_glass", 1.16);
-        itemValues.put("brown_stained_glass_pane", 0.41);
-        itemValues.put("brown_terracotta", 15.24);
-        itemValues.put("brown_wool", 10.85);
-        itemValues.put("brush", 14.21);
-        itemValues.put("bubble_coral", 2.87);
-        itemValues.put("bubble_coral_block", 3.43);
-        itemValues.put("bubble_coral_fan", 3.17);
-        itemValues.put("bucket", 54.33);
-        itemValues.put("bundle", 10.04);
-        itemValues.put("burn_pottery_sherd", 497.87);
-        itemValues.put("bush", 0.02);
-        itemValues.put("cactus", 5.5);
-        itemValues.put("cactus_flower", 2.14);
-        itemValues.put("cake", 189.2);
-        itemValues.put("calcite", 1.1);
-        itemValues.put("calibrated_sculk_sensor", 111.74);
-        itemValues.put("campfire", 36.98);
-        itemValues.put("candle", 10.54);
-        itemValues.put("carrot", 0.83);
-        itemValues.put("carrot_on_a_stick", 7.15);
-        itemValues.put("cartography_table", 9.65);
-        itemValues.put("carved_pumpkin", 12.69);
-        itemValues.put("cauldron", 121.6);
-        itemValues.put("chain", 22.13);
-        itemValues.put("chainmail_boots", 150.0);
-        itemValues.put("chainmail_chestplate", 325.0);
-        itemValues.put("chainmail_helmet", 150.0);
-        itemValues.put("chainmail_leggings", 250.0);
-        itemValues.put("charcoal", 11.33);
-        itemValues.put("cherry_boat", 12.48);
-        itemValues.put("cherry_button", 2.6);
-        itemValues.put("cherry_chest_boat", 29.08);
-        itemValues.put("cherry_door", 4.94);
-        itemValues.put("cherry_fence", 12.01);
-        itemValues.put("cherry_fence_gate", 9.2);
-        itemValues.put("cherry_hanging_sign", 16.49);
-        itemValues.put("cherry_leaves", 2.2);
-        itemValues.put("cherry_log", 10.42);
-        itemValues.put("cherry_planks", 2.6);
-        itemValues.put("cherry_pressure_plate", 5.15);
-        itemValues.put("cherry_sapling", 1.8);
-        itemValues.put("cherry_sign", 5.24);
-        itemValues.put("cherry_slab", 1.27);
-        itemValues.put("cherry_stairs", 3.71);
-        itemValues.put("cherry_trapdoor", 7.41);
-        itemValues.put("cherry_wood", 13.48);
-        itemValues.put("chest", 16.89);
-        itemValues.put("chest_minecart", 104.53);
-        itemValues.put("chicken", 2.75);
-        itemValues.put("chipped_anvil", 250.49);
-        itemValues.put("chiseled_bookshelf", 15.59);
-        itemValues.put("chiseled_copper", 204.02);
-        itemValues.put("chiseled_deepslate", 2.61);
-        itemValues.put("chiseled_nether_bricks", 16.83);
-        itemValues.put("chiseled_polished_blackstone", 2.95);
-        itemValues.put("chiseled_quartz_block", 147.89);
-        itemValues.put("chiseled_red_sandstone", 12.51);
-        itemValues.put("chiseled_resin_bricks", 18.75);
-        itemValues.put("chiseled_sandstone", 4.22);
-        itemValues.put("chiseled_stone_bricks", 2.65);
-        itemValues.put("chiseled_tuff", 0.51);
-        itemValues.put("chiseled_tuff_bricks", 0.48);
-        itemValues.put("chorus_flower", 27.5);
-        itemValues.put("chorus_fruit", 5.5);
-        itemValues.put("clay", 12.8);
-        itemValues.put("clay_ball", 3.3);
-        itemValues.put("clock", 229.38);
-        itemValues.put("closed_eyeblossom", 3.5);
-        itemValues.put("coal", 8.8);
-        itemValues.put("coal_block", 72.86);
-        itemValues.put("coal_ore", 6.6);
-        itemValues.put("coarse_dirt", 0.58);
-        itemValues.put("coast_armor_trim_smithing_template", 8850.7);
-        itemValues.put("cobbled_deepslate", 1.32);
-        itemValues.put("cobbled_deepslate_slab", 0.65);
-        itemValues.put("cobbled_deepslate_stairs", 1.88);
-        itemValues.put("cobbled_deepslate_wall", 1.25);
-        itemValues.put("cobblestone", 1.1);
-        itemValues.put("cobblestone_slab", 0.54);
-        itemValues.put("cobblestone_stairs", 1.57);
-        itemValues.put("cobblestone_wall", 1.05);
-        itemValues.put("cobweb", 0.01);
-        itemValues.put("cocoa_beans", 4.56);
-        itemValues.put("cod", 3.3);
-        itemValues.put("cod_bucket", 67.31);
-        itemValues.put("comparator", 34.34);
-        itemValues.put("compass", 74.13);
-        itemValues.put("composter", 7.3);
-        itemValues.put("conduit", 89.27);
-        itemValues.put("cooked_beef", 6.88);
-        itemValues.put("cooked_chicken", 3.44);
-        itemValues.put("cooked_cod", 4.12);
-        itemValues.put("cooked_mutton", 1.38);
-        itemValues.put("cooked_porkchop", 5.5);
-        itemValues.put("cooked_rabbit", 2.06);
-        itemValues.put("cooked_salmon", 4.47);
-        itemValues.put("cookie", 1.37);
-        itemValues.put("copper_block", 106.23);
-        itemValues.put("copper_bulb", 80.64);
-        itemValues.put("copper_door", 24.38);
-        itemValues.put("copper_grate", 103.04);
-        itemValues.put("copper_ingot", 12.83);
-        itemValues.put("copper_ore", 7.7);
-        itemValues.put("copper_trapdoor", 36.57);
-        itemValues.put("cornflower", 2.75);
-        itemValues.put("cracked_deepslate_bricks", 1.55);
-        itemValues.put("cracked_deepslate_tiles", 1.5);
-        itemValues.put("cracked_nether_bricks", 10.62);
-        itemValues.put("cracked_polished_blackstone_bricks", 1.81);
-        itemValues.put("cracked_stone_bricks", 1.68);
-        itemValues.put("crafter", 108.6);
-        itemValues.put("crafting_table", 8.81);
-        itemValues.put("creaking_heart", 36.25);
-        itemValues.put("creeper_banner_pattern", 4950.53);
-        itemValues.put("creeper_head", 5000.0);
-        itemValues.put("crimson_button", 2.96);
-        itemValues.put("crimson_door", 5.62);
-        itemValues.put("crimson_fence", 13.38);
-        itemValues.put("crimson_fence_gate", 9.88);
-        itemValues.put("crimson_fungus", 1.32);
-        itemValues.put("crimson_hanging_sign", 18.41);
-        itemValues.put("crimson_hyphae", 15.3);
-        itemValues.put("crimson_nylium", 2.25);
-        itemValues.put("crimson_planks", 2.96);
-        itemValues.put("crimson_pressure_plate", 5.86);
-        itemValues.put("crimson_roots", 0.03);
-        itemValues.put("crimson_sign", 5.92);
-        itemValues.put("crimson_slab", 1.45);
-        itemValues.put("crimson_stairs", 4.22);
-        itemValues.put("crimson_stem", 11.83);
-        itemValues.put("crimson_trapdoor", 8.44);
-        itemValues.put("crossbow", 33.71);
-        itemValues.put("crying_obsidian", 392.4);
-        itemValues.put("cut_copper", 103.04);
-        itemValues.put("cut_copper_slab", 50.49);
-        itemValues.put("cut_copper_stairs", 146.83);
-        itemValues.put("cut_red_sandstone", 6.13);
-        itemValues.put("cut_red_sandstone_slab", 3.0);
-        itemValues.put("cut_sandstone", 2.07);
-        itemValues.put("cut_sandstone_slab", 1.01);
-        itemValues.put("cyan_banner", 92.42);
-        itemValues.put("cyan_bed", 52.64);
-        itemValues.put("cyan_bundle", 19.8);
-        itemValues.put("cyan_candle", 20.29);
-        itemValues.put("cyan_carpet", 10.69);
-        itemValues.put("cyan_concrete", 1.65);
-        itemValues.put("cyan_concrete_powder", 1.65);
-        itemValues.put("cyan_dye", 9.96);
-        itemValues.put("cyan_glazed_terracotta", 19.84);
-        itemValues.put("cyan_harness", 1202.78);
-        itemValues.put("cyan_shulker_box", 92.6);
-        itemValues.put("cyan_stained_glass", 1.78);
-        itemValues.put("cyan_stained_glass_pane", 0.63);
-        itemValues.put("cyan_terracotta", 15.87);
-        itemValues.put("cyan_wool", 16.2);
-        itemValues.put("damaged_anvil", 125.24);
-        itemValues.put("dandelion", 1.32);
-        itemValues.put("danger_pottery_sherd", 497.87);
-        itemValues.put("dark_oak_boat", 10.9);
-        itemValues.put("dark_oak_button", 2.27);
-        itemValues.put("dark_oak_chest_boat", 27.51);
-        itemValues.put("dark_oak_door", 4.31);
-        itemValues.put("dark_oak_fence", 10.75);
-        itemValues.put("dark_oak_fence_gate", 8.57);
-        itemValues.put("dark_oak_hanging_sign", 16.49);
-        itemValues.put("dark_oak_leaves", 2.2);
-        itemValues.put("dark_oak_log", 9.06);
-        itemValues.put("dark_oak_planks", 2.27);
-        itemValues.put("dark_oak_pressure_plate", 4.49);
-        itemValues.put("dark_oak_sapling", 1.8);
-        itemValues.put("dark_oak_sign", 4.62);
-        itemValues.put("dark_oak_slab", 1.11);
-        itemValues.put("dark_oak_stairs", 3.23);
-        itemValues.put("dark_oak_trapdoor", 6.47);
-        itemValues.put("dark_oak_wood", 11.72);
-        itemValues.put("dark_prismarine", 43.52);
-        itemValues.put("dark_prismarine_slab", 21.32);
-        itemValues.put("dark_prismarine_stairs", 62.02);
-        itemValues.put("daylight_detector", 58.1);
-        itemValues.put("dead_brain_coral", 0.01);
-        itemValues.put("dead_brain_coral_block", 0.03);
-        itemValues.put("dead_brain_coral_fan", 0.03);
-        itemValues.put("dead_bubble_coral", 0.01);
-        itemValues.put("dead_bubble_coral_block", 0.03);
-        itemValues.put("dead_bubble_coral_fan", 0.03);
-        itemValues.put("dead_bush", 0.01);
-        itemValues.put("dead_fire_coral", 0.01);
-        itemValues.put("dead_fire_coral_block", 0.03);
-        itemValues.put("dead_fire_coral_fan", 0.03);
-        itemValues.put("dead_horn_coral", 0.01);
-        itemValues.put("dead_horn_coral_block", 0.03);
-        itemValues.put("dead_horn_coral_fan", 0.03);
-        itemValues.put("dead_tube_coral", 0.01);
-        itemValues.put("dead_tube_coral_block", 0.03);
-        itemValues.put("dead_tube_coral_fan", 0.03);
-        itemValues.put("decorated_pot", 15.99);
-        itemValues.put("deepslate", 2.77);
-        itemValues.put("deepslate_bricks", 1.24);
-        itemValues.put("deepslate_brick_slab", 0.61);
-        itemValues.put("deepslate_brick_stairs", 1.77);
-        itemValues.put("deepslate_brick_wall", 1.18);
-        itemValues.put("deepslate_coal_ore", 6.6);
-        itemValues.put("deepslate_copper_ore", 7.7);
-        itemValues.put("deepslate_diamond_ore", 412.5);
-        itemValues.put("deepslate_emerald_ore", 41.25);
-        itemValues.put("deepslate_gold_ore", 33.0);
-        itemValues.put("deepslate_iron_ore", 9.9);
-        itemValues.put("deepslate_lapis_ore", 9.94);
-        itemValues.put("deepslate_redstone_ore", 2.47);
-        itemValues.put("deepslate_tiles", 1.2);
-        itemValues.put("deepslate_tile_slab", 0.59);
-        itemValues.put("deepslate_tile_stairs", 1.71);
-        itemValues.put("deepslate_tile_wall", 1.14);
-        itemValues.put("detector_rail", 18.12);
-        itemValues.put("diamond", 550.0);
-        itemValues.put("diamond_axe", 1586.15);
-        itemValues.put("diamond_block", 4554.0);
-        itemValues.put("diamond_boots", 2134.0);
-        itemValues.put("diamond_chestplate", 4092.0);
-        itemValues.put("diamond_helmet", 2640.0);
-        itemValues.put("diamond_hoe", 1069.17);
-        itemValues.put("diamond_horse_armor", 3300.0);
-        itemValues.put("diamond_leggings", 3619.0);
-        itemValues.put("diamond_ore", 412.5);
-        itemValues.put("diamond_pickaxe", 1586.15);
-        itemValues.put("diamond_shovel", 541.2);
-        itemValues.put("diamond_sword", 1079.1);
-        itemValues.put("diorite", 1.5);
-        itemValues.put("diorite_slab", 0.73);
-        itemValues.put("diorite_stairs", 2.14);
-        itemValues.put("diorite_wall", 1.42);
-        itemValues.put("dirt", 0.53);
-        itemValues.put("dirt_path", 0.48);
-        itemValues.put("disc_fragment_5", 14.0);
-        itemValues.put("dispenser", 17.38);
-        itemValues.put("dragon_breath", 180.0);
-        itemValues.put("dragon_egg", 1100.0);
-        itemValues.put("dragon_head", 25000.0);
-        itemValues.put("dried_kelp", 3.91);
-        itemValues.put("dried_kelp_block", 32.37);
-        itemValues.put("dripstone_block", 3.92);
-        itemValues.put("dropper", 10.23);
-        itemValues.put("dry_short_grass", 0.01);
-        itemValues.put("dry_tall_grass", 0.01);
-        itemValues.put("dune_armor_trim_smithing_template", 8850.7);
-        itemValues.put("echo_shard", 92.3);
-        itemValues.put("egg", 0.55);
-        itemValues.put("elytra", 6000.0);
-        itemValues.put("emerald", 55.0);
-        itemValues.put("emerald_block", 455.4);
-        itemValues.put("emerald_ore", 41.25);
-        itemValues.put("enchanted_book", 89.3);
-        itemValues.put("enchanted_golden_apple", 4679.34);
-        itemValues.put("enchanting_table", 1531.92);
-        itemValues.put("end_crystal", 136.81);
-        itemValues.put("ender_chest", 1019.16);
-        itemValues.put("ender_eye", 61.38);
-        itemValues.put("ender_pearl", 55.0);
-        itemValues.put("end_rod", 5.17);
-        itemValues.put("end_stone", 17.5);
-        itemValues.put("end_stone_bricks", 16.97);
-        itemValues.put("end_stone_brick_slab", 8.32);
-        itemValues.put("end_stone_brick_stairs", 24.18);
-        itemValues.put("end_stone_brick_wall", 16.12);
-        itemValues.put("end_stone_slab", 8.32);
-        itemValues.put("end_stone_stairs", 24.18);
-        itemValues.put("end_stone_wall", 16.12);
-        itemValues.put("experience_bottle", 25.0);
-        itemValues.put("explorer_pottery_sherd", 497.87);
-        itemValues.put("exposed_chiseled_copper", 98.94);
-        itemValues.put("exposed_copper", 51.52);
-        itemValues.put("exposed_copper_bulb", 51.52);
-        itemValues.put("exposed_copper_door", 51.52);
-        itemValues.put("exposed_copper_grate", 51.52);
-        itemValues.put("exposed_copper_trapdoor", 51.52);
-        itemValues.put("exposed_cut_copper", 49.97);
-        itemValues.put("exposed_cut_copper_slab", 24.49);
-        itemValues.put("exposed_cut_copper_stairs", 71.21);
-        itemValues.put("eye_armor_trim_smithing_template", 8850.7);
-        itemValues.put("farmland", 0.48);
-        itemValues.put("feather", 0.55);
-        itemValues.put("fermented_spider_eye", 4.85);
-        itemValues.put("fern", 0.01);
-        itemValues.put("field_masoned_banner_pattern", 16.36);
-        itemValues.put("filled_map", 10.0);
-        itemValues.put("fire_charge", 8.75);
-        itemValues.put("fire_coral", 2.87);
-        itemValues.put("fire_coral_block", 3.43);
-        itemValues.put("fire_coral_fan", 3.17);
-        itemValues.put("firefly_bush", 0.04);
-        itemValues.put("firework_rocket", 11.12);
-        itemValues.put("firework_star", 101.75);
-        itemValues.put("fishing_rod", 6.39);
-        itemValues.put("fletching_table", 9.67);
-        itemValues.put("flint", 0.55);
-        itemValues.put("flint_and_steel", 18.84);
-        itemValues.put("flow_armor_trim_smithing_template", 8850.7);
-        itemValues.put("flow_banner_pattern", 5832.25);
-        itemValues.put("flower_banner_pattern", 2.17);
-        itemValues.put("flowering_azalea", 1.8);
-        itemValues.put("flowering_azalea_leaves", 2.6);
-        itemValues.put("flower_pot", 12.11);
-        itemValues.put("flow_pottery_sherd", 497.87);
-        itemValues.put("friend_pottery_sherd", 497.87);
-        itemValues.put("furnace", 8.18);
-        itemValues.put("furnace_minecart", 95.91);
-        itemValues.put("ghast_tear", 82.5);
-        itemValues.put("gilded_blackstone", 58.0);
-        itemValues.put("glass", 0.69);
-        itemValues.put("glass_bottle", 0.68);
-        itemValues.put("glass_pane", 0.25);
-        itemValues.put("glistering_melon_slice", 52.49);
-        itemValues.put("globe_banner_pattern", 481.8);
-        itemValues.put("glow_berries", 3.3);
-        itemValues.put("glow_ink_sac", 3.55);
-        itemValues.put("glow_item_frame", 16.31);
-        itemValues.put("glow_lichen", 6.7);
-        itemValues.put("glowstone", 36.96);
-        itemValues.put("glowstone_dust", 8.8);
-        itemValues.put("goat_horn", 8.79);
-        itemValues.put("gold_block", 487.77);
-        itemValues.put("golden_apple", 436.61);
-        itemValues.put("golden_axe", 171.81);
-        itemValues.put("golden_boots", 135.0);
-        itemValues.put("golden_carrot", 64.68);
-        itemValues.put("golden_chestplate", 320.0);
-        itemValues.put("golden_helmet", 200.0);
-        itemValues.put("golden_hoe", 119.34);
-        itemValues.put("golden_horse_armor", 540.0);
-        itemValues.put("golden_leggings", 280.0);
-        itemValues.put("golden_pickaxe", 171.81);
-        itemValues.put("golden_shovel", 59.46);
-        itemValues.put("golden_sword", 118.36);
-        itemValues.put("gold_ingot", 58.91);
-        itemValues.put("gold_nugget", 6.55);
-        itemValues.put("gold_ore", 33.0);
-        itemValues.put("granite", 1.9);
-        itemValues.put("granite_slab", 0.93);
-        itemValues.put("granite_stairs", 2.71);
-        itemValues.put("granite_wall", 1.8);
-        itemValues.put("grass_block", 1.1);
-        itemValues.put("gravel", 0.55);
-        itemValues.put("gray_banner", 68.86);
-        itemValues.put("gray_bed", 41.86);
-        itemValues.put("gray_bundle", 16.09);
-        itemValues.put("gray_candle", 16.58);
-        itemValues.put("gray_carpet", 8.02);
-        itemValues.put("gray_concrete", 1.14);
-        itemValues.put("gray_concrete_powder", 1.14);
-        itemValues.put("gray_dye", 6.6);
-        itemValues.put("gray_glazed_terracotta", 19.4);
-        itemValues.put("gray_harness", 1199.32);
-        itemValues.put("gray_shulker_box", 89.66);
-        itemValues.put("gray_stained_glass", 1.27);
-        itemValues.put("gray_stained_glass_pane", 0.45);
-        itemValues.put("gray_terracotta", 15.49);
-        itemValues.put("gray_wool", 12.15);
-        itemValues.put("green_banner", 70.4);
-        itemValues.put("green_bed", 42.7);
-        itemValues.put("green_bundle", 16.37);
-        itemValues.put("green_candle", 16.86);
-        itemValues.put("green_carpet", 8.19);
-        itemValues.put("green_concrete", 1.19);
-        itemValues.put("green_concrete_powder", 1.19);
-        itemValues.put("green_dye", 6.6);
-        itemValues.put("green_glazed_terracotta", 19.47);
-        itemValues.put("green_harness", 1199.59);
-        itemValues.put("green_shulker_box", 90.21);
-        itemValues.put("green_stained_glass", 1.32);
-        itemValues.put("green_stained_glass_pane", 0.47);
-        itemValues.put("green_terracotta", 15.56);
-        itemValues.put("green_wool", 12.42);
-        itemValues.put("grindstone", 37.51);
-        itemValues.put("guardian_spawn_egg", 55.0);
-        itemValues.put("gunpowder", 2.2);
-        itemValues.put("hanging_roots", 0.03);
-        itemValues.put("hay_block", 13.64);
-        itemValues.put("heart_of_the_sea", 275.0);
-        itemValues.put("heart_pottery_sherd", 497.87);
-        itemValues.put("heartbreak_pottery_sherd", 497.87);
-        itemValues.put("heavy_weighted_pressure_plate", 117.82);
-        itemValues.put("honey_block", 138.6);
-        itemValues.put("honey_bottle", 34.65);
-        itemValues.put("honeycomb", 27.5);
-        itemValues.put("honeycomb_block", 227.7);
-        itemValues.put("hopper", 94.26);
-        itemValues.put("hopper_minecart", 181.9);
-        itemValues.put("horn_coral", 2.87);
-        itemValues.put("horn_coral_block", 3.43);
-        itemValues.put("horn_coral_fan", 3.17);
-        itemValues.put("host_armor_trim_smithing_template", 8850.7);
-        itemValues.put("howl_pottery_sherd", 497.87);
-        itemValues.put("ice", 5.95);
-        itemValues.put("infested_chiseled_stone_bricks", 2.65);
-        itemValues.put("infested_cobblestone", 1.1);
-        itemValues.put("infested_cracked_stone_bricks", 1.68);
-        itemValues.put("infested_deepslate", 2.77);
-        itemValues.put("infested_mossy_stone_bricks", 3.37);
-        itemValues.put("infested_stone", 1.1);
-        itemValues.put("infested_stone_bricks", 2.42);
-        itemValues.put("ink_sac", 1.1);
-        itemValues.put("iron_axe", 17.96);
-        itemValues.put("iron_bars", 6.64);
-        itemValues.put("iron_block", 48.73);
-        itemValues.put("iron_boots", 4.0);
-        itemValues.put("iron_chestplate", 32.0);
-        itemValues.put("iron_door", 12.66);
-        itemValues.put("iron_helmet", 20.0);
-        itemValues.put("iron_hoe", 11.91);
-        itemValues.put("iron_horse_armor", 54.0);
-        itemValues.put("iron_ingot", 5.5);
-        itemValues.put("iron_leggings", 28.0);
-        itemValues.put("iron_nugget", 0.61);
-        itemValues.put("iron_ore", 9.9);
-        itemValues.put("iron_pickaxe", 17.96);
-        itemValues.put("iron_shovel", 7.18);
-        itemValues.put("iron_sword", 12.68);
-        itemValues.put("iron_trapdoor", 16.5);
-        itemValues.put("item_frame", 13.06);
-        itemValues.put("jack_o_lantern", 25.19);
-        itemValues.put("jigsaw", 5500.0);
-        itemValues.put("jukebox", 140.63);
-        itemValues.put("jungle_boat", 10.9);
-        itemValues.put("jungle_button", 2.27);
-        itemValues.put("jungle_chest_boat", 27.51);
-        itemValues.put("jungle_door", 4.31);
-        itemValues.put("jungle_fence", 10.75);
-        itemValues.put("jungle_fence_gate", 8.57);
-        itemValues.put("jungle_hanging_sign", 16.49);
-        itemValues.put("jungle_leaves", 2.2);
-        itemValues.put("jungle_log", 9.06);
-        itemValues.put("jungle_planks", 2.27);
-        itemValues.put("jungle_pressure_plate", 4.49);
-        itemValues.put("jungle_sapling", 1.8);
-        itemValues.put("jungle_sign", 4.62);
-        itemValues.put("jungle_slab", 1.11);
-        itemValues.put("jungle_stairs", 3.23);
-        itemValues.put("jungle_trapdoor", 6.47);
-        itemValues.put("jungle_wood", 11.72);
-        itemValues.put("kelp", 8.8);
-        itemValues.put("knowledge_book", 1.0);
-        itemValues.put("ladder", 1.67);
-        itemValues.put("lantern", 20.29);
-        itemValues.put("lapis_block", 82.33);
-        itemValues.put("lapis_lazuli", 9.94);
-        itemValues.put("lapis_ore", 9.94);
-        itemValues.put("large_amethyst_bud", 5.37);
-        itemValues.put("large_fern", 0.01);
-        itemValues.put("lava_bucket", 64.7);
-        itemValues.put("lead", 16.46);
-        itemValues.put("leather", 2.75);
-        itemValues.put("leather_boots", 16.0);
-        itemValues.put("leather_chestplate", 32.0);
-        itemValues.put("leather_helmet", 20.0);
-        itemValues.put("leather_horse_armor", 27.0);
-        itemValues.put("leather_leggings", 28.0);
-        itemValues.put("lectern", 23.09);
-        itemValues.put("lever", 2.65);
-        itemValues.put("light", 0.01);
-        itemValues.put("light_blue_banner", 84.21);
-        itemValues.put("light_blue_bed", 48.75);
-        itemValues.put("light_blue_bundle", 18.31);
-        itemValues.put("light_blue_candle", 18.8);
-        itemValues.put("light_blue_carpet", 9.94);
-        itemValues.put("light_blue_concrete", 1.52);
-        itemValues.put("light_blue_concrete_powder", 1.52);
-        itemValues.put("light_blue_dye", 9.35);
-        itemValues.put("light_blue_glazed_terracotta", 19.7);
-        itemValues.put("light_blue_harness", 1202.17);
-        itemValues.put("light_blue_shulker_box", 91.55);
-        itemValues.put("light_blue_stained_glass", 1.65);
-        itemValues.put("light_blue_stained_glass_pane", 0.59);
-        itemValues.put("light_blue_terracotta", 15.79);
-        itemValues.put("light_blue_wool", 15.05);
-        itemValues.put("light_gray_banner", 73.7);
-        itemValues.put("light_gray_bed", 44.24);
-        itemValues.put("light_gray_bundle", 16.77);
-        itemValues.put("light_gray_candle", 17.26);
-        itemValues.put("light_gray_carpet", 8.53);
-        itemValues.put("light_gray_concrete", 1.22);
-        itemValues.put("light_gray_concrete_powder", 1.22);
-        itemValues.put("light_gray_dye", 6.05);
-        itemValues.put("light_gray_glazed_terracotta", 19.48);
-        itemValues.put("light_gray_harness", 1198.87);
-        itemValues.put("light_gray_shulker_box", 89.18);
-        itemValues.put("light_gray_stained_glass", 1.35);
-        itemValues.put("light_gray_stained_glass_pane", 0.48);
-        itemValues.put("light_gray_terracotta", 15.57);
-        itemValues.put("light_gray_wool", 12.92);
-        itemValues.put("light_weighted_pressure_plate", 25.66);
-        itemValues.put("lilac", 2.75);
-        itemValues.put("lily_of_the_valley", 2.75);
-        itemValues.put("lily_pad", 1.1);
-        itemValues.put("lime_banner", 71.51);
-        itemValues.put("lime_bed", 43.23);
-        itemValues.put("lime_bundle", 16.51);
-        itemValues.put("lime_candle", 17.0);
-        itemValues.put("lime_carpet", 8.27);
-        itemValues.put("lime_concrete", 1.2);
-        itemValues.put("lime_concrete_powder", 1.2);
-        itemValues.put("lime_dye", 6.6);
-        itemValues.put("lime_glazed_terracotta", 19.47);
-        itemValues.put("lime_harness", 1199.59);
-        itemValues.put("lime_shulker_box", 90.21);
-        itemValues.put("lime_stained_glass", 1.33);
-        itemValues.put("lime_stained_glass_pane", 0.47);
-        itemValues.put("lime_terracotta", 15.56);
-        itemValues.put("lime_wool", 12.53);
-        itemValues.put("lodestone", 465.46);
-        itemValues.put("loom", 5.35);
-        itemValues.put("mace", 20460.88);
-        itemValues.put("magenta_banner", 95.03);
-        itemValues.put("magenta_bed", 54.2);
-        itemValues.put("magenta_bundle", 20.28);
-        itemValues.put("magenta_candle", 20.77);
-        itemValues.put("magenta_carpet", 10.93);
-        itemValues.put("magenta_concrete", 1.68);
-        itemValues.put("magenta_concrete_powder", 1.68);
-        itemValues.put("magenta_dye", 10.0);
-        itemValues.put("magenta_glazed_terracotta", 19.86);
-        itemValues.put("magenta_harness", 1202.82);
-        itemValues.put("magenta_shulker_box", 92.82);
-        itemValues.put("magenta_stained_glass", 1.81);
-        itemValues.put("magenta_stained_glass_pane", 0.64);
-        itemValues.put("magenta_terracotta", 15.89);
-        itemValues.put("magenta_wool", 16.56);
-        itemValues.put("magma_block", 27.5);
-        itemValues.put("magma_cream", 16.5);
-        itemValues.put("mangrove_boat", 10.9);
-        itemValues.put("mangrove_button", 2.27);
-        itemValues.put("mangrove_chest_boat", 27.51);
-        itemValues.put("mangrove_door", 4.31);
-        itemValues.put("mangrove_fence", 10.75);
-        itemValues.put("mangrove_fence_gate", 8.57);
-        itemValues.put("mangrove_hanging_sign", 16.49);
-        itemValues.put("mangrove_leaves", 2.2);
-        itemValues.put("mangrove_log", 9.06);
-        itemValues.put("mangrove_planks", 2.27);
-        itemValues.put("mangrove_pressure_plate", 4.49);
-        itemValues.put("mangrove_propagule", 1.8);
-        itemValues.put("mangrove_roots", 0.03);
-        itemValues.put("mangrove_sign", 4.62);
-        itemValues.put("mangrove_slab", 1.11);
-        itemValues.put("mangrove_stairs", 3.23);
-        itemValues.put("mangrove_trapdoor", 6.47);
-        itemValues.put("mangrove_wood", 11.72);
-        itemValues.put("map", 10.0);
-        itemValues.put("medium_amethyst_bud", 4.48);
-        itemValues.put("melon", 16.5);
-        itemValues.put("melon_seeds", 2.75);
-        itemValues.put("melon_slice", 1.65);
-        itemValues.put("milk_bucket", 67.31);
-        itemValues.put("minecart", 87.63);
-        itemValues.put("miner_pottery_sherd", 497.87);
-        itemValues.put("mojang_banner_pattern", 3.3);
-        itemValues.put("moss_block", 8.8);
-        itemValues.put("moss_carpet", 2.2);
-        itemValues.put("mossy_cobblestone", 2.2);
-        itemValues.put("mossy_cobblestone_slab", 1.08);
-        itemValues.put("mossy_cobblestone_stairs", 3.14);
-        itemValues.put("mossy_cobblestone_wall", 2.09);
-        itemValues.put("mossy_stone_bricks", 3.37);
-        itemValues.put("mossy_stone_brick_slab", 1.65);
-        itemValues.put("mossy_stone_brick_stairs", 4.81);
-        itemValues.put("mossy_stone_brick_wall", 3.21);
-        itemValues.put("mourner_pottery_sherd", 497.87);
-        itemValues.put("mud", 1.1);
-        itemValues.put("mud_bricks", 1.69);
-        itemValues.put("mud_brick_slab", 0.83);
-        itemValues.put("mud_brick_stairs", 2.41);
-        itemValues.put("mud_brick_wall", 1.61);
-        itemValues.put("muddy_mangrove_roots", 1.1);
-        itemValues.put("mushroom_stem", 11.0);
-        itemValues.put("mushroom_stew", 10.45);
-        itemValues.put("music_disc_11", 55.0);
-        itemValues.put("music_disc_13", 55.0);
-        itemValues.put("music_disc_5", 148.0);
-        itemValues.put("music_disc_blocks", 55.0);
-        itemValues.put("music_disc_cat", 55.0);
-        itemValues.put("music_disc_chirp", 55.0);
-        itemValues.put("music_disc_creator", 55.0);
-        itemValues.put("music_disc_creator_music_box", 55.0);
-        itemValues.put("music_disc_far", 55.0);
-        itemValues.put("music_disc_mall", 55.0);
-        itemValues.put("music_disc_mellohi", 55.0);
-        itemValues.put("music_disc_otherside", 55.0);
-        itemValues.put("music_disc_pigstep", 55.0);
-        itemValues.put("music_disc_precipice", 55.0);
-        itemValues.put("music_disc_relic", 55.0);
-        itemValues.put("music_disc_stal", 55.0);
-        itemValues.put("music_disc_strad", 55.0);
-        itemValues.put("music_disc_wait", 55.0);
-        itemValues.put("music_disc_ward", 55.0);
-        itemValues.put("mutton", 1.1);
-        itemValues.put("mycelium", 11.0);
-        itemValues.put("name_tag", 55.0);
-        itemValues.put("nautilus_shell", 55.0);
-        itemValues.put("nether_brick", 6.6);
-        itemValues.put("nether_bricks", 25.64);
-        itemValues.put("nether_brick_fence", 24.96);
-        itemValues.put("nether_brick_slab", 12.57);
-        itemValues.put("nether_brick_stairs", 36.58);
-        itemValues.put("nether_brick_wall", 24.35);
-        itemValues.put("nether_gold_ore", 33.0);
-        itemValues.put("nether_quartz_ore", 55.0);
-        itemValues.put("nether_sprouts", 0.03);
-        itemValues.put("nether_star", 25000.0);
-        itemValues.put("nether_wart", 11.0);
-        itemValues.put("nether_wart_block", 91.3);
-        itemValues.put("netherite_axe", 8916.21);
-        itemValues.put("netherite_block", 11841.0);
-        itemValues.put("netherite_boots", 9454.0);
-        itemValues.put("netherite_chestplate", 11412.0);
-        itemValues.put("netherite_helmet", 9960.0);
-        itemValues.put("netherite_hoe", 8389.23);
-        itemValues.put("netherite_ingot", 1430.0);
-        itemValues.put("netherite_leggings", 10939.0);
-        itemValues.put("netherite_pickaxe", 8916.21);
-        itemValues.put("netherite_scrap", 880.0);
-        itemValues.put("netherite_shovel", 7861.26);
-        itemValues.put("netherite_sword", 8399.16);
-        itemValues.put("netherrack", 1.1);
-        itemValues.put("note_block", 14.31);
-        itemValues.put("oak_boat", 10.9);
-        itemValues.put("oak_button", 2.27);
-        itemValues.put("oak_chest_boat", 27.51);
-        itemValues.put("oak_door", 4.31);
-        itemValues.put("oak_fence", 10.75);
-        itemValues.put("oak_fence_gate", 8.57);
-        itemValues.put("oak_hanging_sign", 16.49);
-        itemValues.put("oak_leaves", 2.2);
-        itemValues.put("oak_log", 9.06);
-        itemValues.put("oak_planks", 2.27);
-        itemValues.put("oak_pressure_plate", 4.49);
-        itemValues.put("oak_sapling", 1.8);
-        itemValues.put("oak_sign", 4.62);
-        itemValues.put("oak_slab", 1.11);
-        itemValues.put("oak_stairs", 3.23);
-        itemValues.put("oak_trapdoor", 6.47);
-        itemValues.put("oak_wood", 11.72);
-        itemValues.put("observer", 28.34);
-        itemValues.put("obsidian", 8.8);
-        itemValues.put("ochre_froglight", 27.5);
-        itemValues.put("ominous_bottle", 825.0);
-        itemValues.put("ominous_trial_key", 550.0);
-        itemValues.put("open_eyeblossom", 3.5);
-        itemValues.put("orange_banner", 59.29);
-        itemValues.put("orange_bed", 35.73);
-        itemValues.put("orange_bundle", 13.92);
-        itemValues.put("orange_candle", 14.41);
-        itemValues.put("orange_carpet", 6.78);
-        itemValues.put("orange_concrete", 0.96);
-        itemValues.put("orange_concrete_powder", 0.96);
-        itemValues.put("orange_dye", 3.69);
-        itemValues.put("orange_glazed_terracotta", 18.93);
-        itemValues.put("orange_harness", 1196.88);
-        itemValues.put("orange_shulker_box", 86.4);
-        itemValues.put("orange_stained_glass", 1.09);
-        itemValues.put("orange_stained_glass_pane", 0.39);
-        itemValues.put("orange_terracotta", 15.17);
-        itemValues.put("orange_tulip", 2.2);
-        itemValues.put("orange_wool", 10.27);
-        itemValues.put("oxeye_daisy", 1.1);
-        itemValues.put("oxidized_chiseled_copper", 25.35);
-        itemValues.put("oxidized_copper", 25.88);
-        itemValues.put("oxidized_copper_bulb", 25.88);
-        itemValues.put("oxidized_copper_door", 25.88);
-        itemValues.put("oxidized_copper_grate", 25.88);
-        itemValues.put("oxidized_copper_trapdoor", 25.88);
-        itemValues.put("oxidized_cut_copper", 25.12);
-        itemValues.put("oxidized_cut_copper_slab", 12.3);
-        itemValues.put("oxidized_cut_copper_stairs", 35.78);
-        itemValues.put("packed_ice", 55.0);
-        itemValues.put("packed_mud", 0.53);
-        itemValues.put("painting", 14.86);
-        itemValues.put("pale_hanging_moss", 0.03);
-        itemValues.put("pale_moss_block", 2.53);
-        itemValues.put("pale_moss_carpet", 0.63);
-        itemValues.put("pale_oak_boat", 10.9);
-        itemValues.put("pale_oak_button", 2.27);
-        itemValues.put("pale_oak_chest_boat", 27.51);
-        itemValues.put("pale_oak_door", 4.31);
-        itemValues.put("pale_oak_fence", 10.75);
-        itemValues.put("pale_oak_fence_gate", 8.57);
-        itemValues.put("pale_oak_hanging_sign", 16.49);
-        itemValues.put("pale_oak_leaves", 2.2);
-        itemValues.put("pale_oak_log", 9.06);
-        itemValues.put("pale_oak_planks", 2.27);
-        itemValues.put("pale_oak_pressure_plate", 4.49);
-        itemValues.put("pale_oak_sapling", 1.8);
-        itemValues.put("pale_oak_sign", 4.62);
-        itemValues.put("pale_oak_slab", 1.11);
-        itemValues.put("pale_oak_stairs", 3.23);
-        itemValues.put("pale_oak_trapdoor", 6.47);
-        itemValues.put("pale_oak_wood", 11.72);
-        itemValues.put("paper", 1.83);
-        itemValues.put("pearlescent_froglight", 27.5);
-        itemValues.put("peony", 2.75);
-        itemValues.put("phantom_membrane", 27.5);
-        itemValues.put("piglin_banner_pattern", 2750.0);
-        itemValues.put("piglin_head", 5000.0);
-        itemValues.put("pink_banner", 79.52);
-        itemValues.put("pink_bed", 46.65);
-        itemValues.put("pink_bundle", 17.78);
-        itemValues.put("pink_candle", 18.27);
-        itemValues.put("pink_carpet", 9.37);
-        itemValues.put("pink_concrete", 1.41);
-        itemValues.put("pink_concrete_powder", 1.41);
-        itemValues.put("pink_dye", 8.8);
-        itemValues.put("pink_glazed_terracotta", 19.63);
-        itemValues.put("pink_harness", 1201.62);
-        itemValues.put("pink_petals", 6.6);
-        itemValues.put("pink_shulker_box", 91.06);
-        itemValues.put("pink_stained_glass", 1.54);
-        itemValues.put("pink_stained_glass_pane", 0.55);
-        itemValues.put("pink_terracotta", 15.7);
-        itemValues.put("pink_tulip", 1.1);
-        itemValues.put("pink_wool", 14.19);
-        itemValues.put("piston", 18.07);
-        itemValues.put("pitcher_plant", 2.75);
-        itemValues.put("pitcher_pod", 5.5);
-        itemValues.put("player_head", 5000.0);
-        itemValues.put("plenty_pottery_sherd", 497.87);
-        itemValues.put("podzol", 1.1);
-        itemValues.put("pointed_dripstone", 1.3);
-        itemValues.put("poisonous_potato", 0.66);
-        itemValues.put("polar_bear_spawn_egg", 55.0);
-        itemValues.put("polished_andesite", 2.55);
-        itemValues.put("polished_andesite_slab", 1.25);
-        itemValues.put("polished_andesite_stairs", 3.64);
-        itemValues.put("polished_blackstone", 2.31);
-        itemValues.put("polished_blackstone_bricks", 1.81);
-        itemValues.put("polished_blackstone_brick_slab", 0.89);
-        itemValues.put("polished_blackstone_brick_stairs", 2.58);
-        itemValues.put("polished_blackstone_brick_wall", 1.72);
-        itemValues.put("polished_blackstone_button", 2.31);
-        itemValues.put("polished_blackstone_pressure_plate", 4.57);
-        itemValues.put("polished_blackstone_slab", 1.13);
-        itemValues.put("polished_blackstone_stairs", 3.29);
-        itemValues.put("polished_blackstone_wall", 2.19);
-        itemValues.put("polished_deepslate", 4.16);
-        itemValues.put("polished_deepslate_slab", 2.04);
-        itemValues.put("polished_deepslate_stairs", 5.93);
-        itemValues.put("polished_deepslate_wall", 3.95);
-        itemValues.put("polished_diorite", 2.25);
-        itemValues.put("polished_diorite_slab", 1.1);
-        itemValues.put("polished_diorite_stairs", 3.21);
-        itemValues.put("polished_granite", 2.85);
-        itemValues.put("polished_granite_slab", 1.4);
-        itemValues.put("polished_granite_stairs", 4.06);
-        itemValues.put("polished_tuff", 0.83);
-        itemValues.put("polished_tuff_slab", 0.41);
-        itemValues.put("polished_tuff_stairs", 1.19);
-        itemValues.put("polished_tuff_wall", 0.79);
-        itemValues.put("poppy", 1.1);
-        itemValues.put("porkchop", 4.4);
-        itemValues.put("potato", 0.66);
-        itemValues.put("potion", 100.0);
-        itemValues.put("powder_snow_bucket", 67.31);
-        itemValues.put("powered_rail", 37.71);
-        itemValues.put("prismarine", 26.45);
-        itemValues.put("prismarine_bricks", 29.15);
-        itemValues.put("prismarine_brick_slab", 14.28);
-        itemValues.put("prismarine_brick_stairs", 41.55);
-        itemValues.put("prismarine_crystals", 11.0);
-        itemValues.put("prismarine_shard", 5.5);
-        itemValues.put("prismarine_slab", 12.96);
-        itemValues.put("prismarine_stairs", 37.7);
-        itemValues.put("prismarine_wall", 25.13);
-        itemValues.put("prize_pottery_sherd", 497.87);
-        itemValues.put("pufferfish", 5.5);
-        itemValues.put("pufferfish_bucket", 72.81);
-        itemValues.put("pumpkin", 11.0);
-        itemValues.put("pumpkin_pie", 16.93);
-        itemValues.put("pumpkin_seeds", 2.75);
-        itemValues.put("purple_banner", 110.75);
-        itemValues.put("purple_bed", 61.9);
-        itemValues.put("purple_bundle", 23.06);
-        itemValues.put("purple_candle", 23.55);
-        itemValues.put("purple_carpet", 12.84);
-        itemValues.put("purple_concrete", 2.03);
-        itemValues.put("purple_concrete_powder", 2.03);
-        itemValues.put("purple_dye", 13.25);
-        itemValues.put("purple_glazed_terracotta", 20.3);
-        itemValues.put("purple_harness", 1205.86);
-        itemValues.put("purple_shulker_box", 95.86);
-        itemValues.put("purple_stained_glass", 2.16);
-        itemValues.put("purple_stained_glass_pane", 0.77);
-        itemValues.put("purple_terracotta", 16.24);
-        itemValues.put("purple_wool", 19.45);
-        itemValues.put("purpur_pillar", 6.88);
-        itemValues.put("purpur_slab", 3.37);
-        itemValues.put("purpur_stairs", 9.81);
-        itemValues.put("quartz", 55.0);
-        itemValues.put("quartz_block", 220.0);
-        itemValues.put("quartz_bricks", 220.0);
-        itemValues.put("quartz_pillar", 220.0);
-        itemValues.put("quartz_slab", 107.8);
-        itemValues.put("quartz_stairs", 313.5);
-        itemValues.put("rabbit", 1.65);
-        itemValues.put("rabbit_foot", 11.0);
-        itemValues.put("rabbit_hide", 2.75);
-        itemValues.put("rabbit_stew", 17.88);
-        itemValues.put("rail", 5.75);
-        itemValues.put("raiser_armor_trim_smithing_template", 8850.7);
-        itemValues.put("raw_copper", 7.7);
-        itemValues.put("raw_copper_block", 63.69);
-        itemValues.put("raw_gold", 33.0);
-        itemValues.put("raw_gold_block", 272.97);
-        itemValues.put("raw_iron", 9.9);
-        itemValues.put("raw_iron_block", 81.84);
-        itemValues.put("recovery_compass", 74.13);
-        itemValues.put("red_banner", 55.2);
-        itemValues.put("red_bed", 33.83);
-        itemValues.put("red_bundle", 13.21);
-        itemValues.put("red_candle", 13.7);
-        itemValues.put("red_carpet", 6.34);
-        itemValues.put("red_concrete", 0.89);
-        itemValues.put("red_concrete_powder", 0.89);
-        itemValues.put("red_dye", 3.3);
-        itemValues.put("red_glazed_terracotta", 18.88);
-        itemValues.put("red_harness", 1196.51);
-        itemValues.put("red_mushroom", 5.5);
-        itemValues.put("red_mushroom_block", 11.0);
-        itemValues.put("red_nether_bricks", 16.83);
-        itemValues.put("red_nether_brick_slab", 8.25);
-        itemValues.put("red_nether_brick_stairs", 24.0);
-        itemValues.put("red_nether_brick_wall", 15.99);
-        itemValues.put("red_sand", 0.55);
-        itemValues.put("red_sandstone", 2.07);
-        itemValues.put("red_sandstone_slab", 1.01);
-        itemValues.put("red_sandstone_stairs", 2.95);
-        itemValues.put("red_sandstone_wall", 1.97);
-        itemValues.put("red_shulker_box", 86.01);
-        itemValues.put("red_stained_glass", 1.01);
-        itemValues.put("red_stained_glass_pane", 0.36);
-        itemValues.put("red_terracotta", 15.1);
-        itemValues.put("red_tulip", 1.1);
-        itemValues.put("red_wool", 9.6);
-        itemValues.put("redstone", 2.75);
-        itemValues.put("redstone_block", 22.75);
-        itemValues.put("redstone_lamp", 25.27);
-        itemValues.put("redstone_ore", 2.47);
-        itemValues.put("redstone_torch", 3.31);
-        itemValues.put("reinforced_deepslate", 1100.0);
-        itemValues.put("repeater", 10.89);
-        itemValues.put("resin_block", 3.96);
-        itemValues.put("resin_bricks", 3.75);
-        itemValues.put("resin_brick_slab", 1.84);
-        itemValues.put("resin_brick_stairs", 5.35);
-        itemValues.put("resin_brick_wall", 3.56);
-        itemValues.put("resin_clump", 4.67);
-        itemValues.put("respawn_anchor", 272.61);
-        itemValues.put("rib_armor_trim_smithing_template", 8850.7);
-        itemValues.put("rooted_dirt", 0.53);
-        itemValues.put("rose_bush", 2.75);
-        itemValues.put("rotten_flesh", 0.55);
-        itemValues.put("saddle", 77.0);
-        itemValues.put("salmon", 2.75);
-        itemValues.put("salmon_bucket", 70.06);
-        itemValues.put("sand", 0.55);
-        itemValues.put("sandstone", 2.07);
-        itemValues.put("sandstone_slab", 1.01);
-        itemValues.put("sandstone_stairs", 2.95);
-        itemValues.put("sandstone_wall", 1.97);
-        itemValues.put("scaffolding", 6.6);
-        itemValues.put("sculk", 44.0);
-        itemValues.put("sculk_catalyst", 660.0);
-        itemValues.put("sculk_sensor", 111.74);
-        itemValues.put("sculk_shrieker", 275.0);
-        itemValues.put("sculk_vein", 11.0);
-        itemValues.put("scute", 2.75);
-        itemValues.put("sea_lantern", 56.65);
-        itemValues.put("sea_pickle", 11.0);
-        itemValues.put("seagrass", 0.01);
-        itemValues.put("sentry_armor_trim_smithing_template", 8850.7);
-        itemValues.put("shaper_armor_trim_smithing_template", 8850.7);
-        itemValues.put("sheaf_pottery_sherd", 497.87);
-        itemValues.put("shears", 36.96);
-        itemValues.put("sheep_spawn_egg", 55.0);
-        itemValues.put("shelter_pottery_sherd", 497.87);
-        itemValues.put("shield", 17.62);
-        itemValues.put("short_grass", 0.01);
-        itemValues.put("shroomlight", 42.35);
-        itemValues.put("shulker_box", 79.4);
-        itemValues.put("silence_armor_trim_smithing_template", 8850.7);
-        itemValues.put("skeleton_banner_pattern", 4950.53);
-        itemValues.put("skeleton_skull", 5000.0);
-        itemValues.put("skull_banner_pattern", 4950.53);
-        itemValues.put("skull_pottery_sherd", 497.87);
-        itemValues.put("slime_ball", 11.0);
-        itemValues.put("slime_block", 91.3);
-        itemValues.put("small_amethyst_bud", 3.58);
-        itemValues.put("small_dripleaf", 1.1);
-        itemValues.put("smithing_table", 18.48);
-        itemValues.put("smoker", 16.36);
-        itemValues.put("smooth_basalt", 0.39);
-        itemValues.put("smooth_quartz", 220.0);
-        itemValues.put("smooth_quartz_slab", 107.8);
-        itemValues.put("smooth_quartz_stairs", 313.5);
-        itemValues.put("smooth_red_sandstone", 3.1);
-        itemValues.put("smooth_red_sandstone_slab", 1.52);
-        itemValues.put("smooth_red_sandstone_stairs", 4.42);
-        itemValues.put("smooth_sandstone", 3.1);
-        itemValues.put("smooth_sandstone_slab", 1.52);
-        itemValues.put("smooth_sandstone_stairs", 4.42);
-        itemValues.put("smooth_stone", 1.65);
-        itemValues.put("smooth_stone_slab", 0.81);
-        itemValues.put("sniffer_egg", 275.0);
-        itemValues.put("snort_pottery_sherd", 497.87);
-        itemValues.put("snow", 0.01);
-        itemValues.put("snow_block", 0.33);
-        itemValues.put("snowball", 0.01);
-        itemValues.put("soul_campfire", 52.48);
-        itemValues.put("soul_lantern", 32.85);
-        itemValues.put("soul_sand", 8.8);
-        itemValues.put("soul_soil", 2.2);
-        itemValues.put("soul_torch", 8.8);
-        itemValues.put("spawner", 3850.0);
-        itemValues.put("spectral_arrow", 5.54);
-        itemValues.put("spider_eye", 3.3);
-        itemValues.put("splash_potion", 100.0);
-        itemValues.put("sponge", 55.0);
-        itemValues.put("spore_blossom", 55.0);
-        itemValues.put("spruce_boat", 10.9);
-        itemValues.put("spruce_button", 2.27);
-        itemValues.put("spruce_chest_boat", 27.51);
-        itemValues.put("spruce_door", 4.31);
-        itemValues.put("spruce_fence", 10.75);
-        itemValues.put("spruce_fence_gate", 8.57);
-        itemValues.put("spruce_hanging_sign", 16.49);
-        itemValues.put("spruce_leaves", 2.2);
-        itemValues.put("spruce_log", 9.06);
-        itemValues.put("spruce_planks", 2.27);
-        itemValues.put("spruce_pressure_plate", 4.49);
-        itemValues.put("spruce_sapling", 1.8);
-        itemValues.put("spruce_sign", 4.62);
-        itemValues.put("spruce_slab", 1.11);
-        itemValues.put("spruce_stairs", 3.23);
-        itemValues.put("spruce_trapdoor", 6.47);
-        itemValues.put("spruce_wood", 11.72);
-        itemValues.put("spy_glass", 187.61);
-        itemValues.put("stick", 0.56);
-        itemValues.put("sticky_piston", 24.07);
-        itemValues.put("stone", 1.1);
-        itemValues.put("stone_axe", 5.37);
-        itemValues.put("stone_bricks", 2.42);
-        itemValues.put("stone_brick_slab", 1.19);
-        itemValues.put("stone_brick_stairs", 3.45);
-        itemValues.put("stone_brick_wall", 2.3);
-        itemValues.put("stone_button", 1.1);
-        itemValues.put("stone_hoe", 4.02);
-        itemValues.put("stone_pickaxe", 5.37);
-        itemValues.put("stone_pressure_plate", 2.2);
-        itemValues.put("stone_shovel", 3.31);
-        itemValues.put("stone_slab", 0.54);
-        itemValues.put("stone_stairs", 1.57);
-        itemValues.put("stone_sword", 3.32);
-        itemValues.put("stonecutter", 21.48);
-        itemValues.put("string", 1.1);
-        itemValues.put("stripped_acacia_log", 9.06);
-        itemValues.put("stripped_acacia_wood", 11.72);
-        itemValues.put("stripped_bamboo_block", 6.71);
-        itemValues.put("stripped_birch_log", 9.06);
-        itemValues.put("stripped_birch_wood", 11.72);
-        itemValues.put("stripped_cherry_log", 10.42);
-        itemValues.put("stripped_cherry_wood", 13.48);
-        itemValues.put("stripped_crimson_hyphae", 15.3);
-        itemValues.put("stripped_crimson_stem", 11.83);
-        itemValues.put("stripped_dark_oak_log", 9.06);
-        itemValues.put("stripped_dark_oak_wood", 11.72);
-        itemValues.put("stripped_jungle_log", 9.06);
-        itemValues.put("stripped_jungle_wood", 11.72);
-        itemValues.put("stripped_mangrove_log", 9.06);
-        itemValues.put("stripped_mangrove_wood", 11.72);
-        itemValues.put("stripped_oak_log", 9.06);
-        itemValues.put("stripped_oak_wood", 11.72);
-        itemValues.put("stripped_pale_oak_log", 9.06);
-        itemValues.put("stripped_pale_oak_wood", 11.72);
-        itemValues.put("stripped_spruce_log", 9.06);
-        itemValues.put("stripped_spruce_wood", 11.72);
-        itemValues.put("stripped_warped_hyphae", 15.3);
-        itemValues.put("stripped_warped_stem", 11.83);
-        itemValues.put("structure_block", 5500.0);
-        itemValues.put("structure_void", 5500.0);
-        itemValues.put("sugar", 1.1);
-        itemValues.put("sugar_cane", 1.1);
-        itemValues.put("sunflower", 2.75);
-        itemValues.put("suspicious_gravel", 11.0);
-        itemValues.put("suspicious_sand", 11.0);
-        itemValues.put("suspicious_stew", 21.23);
-        itemValues.put("sweet_berries", 3.3);
-        itemValues.put("tadpole_bucket", 64.7);
-        itemValues.put("tall_grass", 0.01);
-        itemValues.put("target", 37.28);
-        itemValues.put("terracotta", 14.25);
-        itemValues.put("tide_armor_trim_smithing_template", 8850.7);
-        itemValues.put("tinted_glass", 8.69);
-        itemValues.put("tipped_arrow", 2.54);
-        itemValues.put("tnt", 40.7);
-        itemValues.put("tnt_minecart", 128.34);
-        itemValues.put("torch", 0.81);
-        itemValues.put("torchflower", 2.75);
-        itemValues.put("torchflower_seeds", 5.5);
-        itemValues.put("trial_key", 275.0);
-        itemValues.put("trial_spawner", 5500.0);
-        itemValues.put("trident", 2200.0);
-        itemValues.put("tripwire_hook", 8.47);
-        itemValues.put("tropical_fish", 5.5);
-        itemValues.put("tropical_fish_bucket", 72.81);
-        itemValues.put("tube_coral", 2.87);
-        itemValues.put("tube_coral_block", 3.43);
-        itemValues.put("tube_coral_fan", 3.17);
-        itemValues.put("tuff", 0.11);
-        itemValues.put("tuff_bricks", 0.1);
-        itemValues.put("tuff_brick_slab", 0.05);
-        itemValues.put("tuff_brick_stairs", 0.15);
-        itemValues.put("tuff_brick_wall", 0.1);
-        itemValues.put("tuff_slab", 0.05);
-        itemValues.put("tuff_stairs", 0.16);
-        itemValues.put("tuff_wall", 0.1);
-        itemValues.put("turtle_egg", 55.0);
-        itemValues.put("turtle_helmet", 275.0);
-        itemValues.put("turtle_scute", 55.0);
-        itemValues.put("twisting_vines", 0.03);
-        itemValues.put("vault", 5500.0);
-        itemValues.put("verdant_froglight", 27.5);
-        itemValues.put("vex_armor_trim_smithing_template", 8850.7);
-        itemValues.put("villager_spawn_egg", 55.0);
-        itemValues.put("vine", 0.01);
-        itemValues.put("wandering_trader_spawn_egg", 55.0);
-        itemValues.put("ward_armor_trim_smithing_template", 8850.7);
-        itemValues.put("warped_button", 2.96);
-        itemValues.put("warped_door", 5.62);
-        itemValues.put("warped_fence", 13.38);
-        itemValues.put("warped_fence_gate", 9.88);
-        itemValues.put("warped_fungus", 1.32);
-        itemValues.put("warped_hanging_sign", 18.41);
-        itemValues.put("warped_hyphae", 15.3);
-        itemValues.put("warped_nylium", 2.25);
-        itemValues.put("warped_planks", 2.96);
-        itemValues.put("warped_pressure_plate", 5.86);
-        itemValues.put("warped_roots", 0.03);
-        itemValues.put("warped_sign", 5.92);
-        itemValues.put("warped_slab", 1.45);
-        itemValues.put("warped_stairs", 4.22);
-        itemValues.put("warped_stem", 11.83);
-        itemValues.put("warped_trapdoor", 8.44);
-        itemValues.put("warped_wart_block", 91.3);
-        itemValues.put("water_bucket", 64.7);
-        itemValues.put("waxed_chiseled_copper", 204.02);
-        itemValues.put("waxed_copper_block", 106.23);
-        itemValues.put("waxed_copper_bulb", 80.64);
-        itemValues.put("waxed_copper_door", 24.38);
-        itemValues.put("waxed_copper_grate", 103.04);
-        itemValues.put("waxed_copper_trapdoor", 36.57);
-        itemValues.put("waxed_cut_copper", 103.04);
-        itemValues.put("waxed_cut_copper_slab", 50.49);
-        itemValues.put("waxed_cut_copper_stairs", 146.83);
-        itemValues.put("waxed_exposed_chiseled_copper", 98.94);
-        itemValues.put("waxed_exposed_copper", 51.52);
-        itemValues.put("waxed_exposed_copper_bulb", 51.52);
-        itemValues.put("waxed_exposed_copper_door", 51.52);
-        itemValues.put("waxed_exposed_copper_grate", 51.52);
-        itemValues.put("waxed_exposed_copper_trapdoor", 51.52);
-        itemValues.put("waxed_exposed_cut_copper", 49.97);
-        itemValues.put("waxed_exposed_cut_copper_slab", 24.49);
-        itemValues.put("waxed_exposed_cut_copper_stairs", 71.21);
-        itemValues.put("waxed_oxidized_chiseled_copper", 25.35);
-        itemValues.put("waxed_oxidized_copper", 25.88);
-        itemValues.put("waxed_oxidized_copper_bulb", 25.88);
-        itemValues.put("waxed_oxidized_copper_door", 25.88);
-        itemValues.put("waxed_oxidized_copper_grate", 25.88);
-        itemValues.put("waxed_oxidized_copper_trapdoor", 25.88);
-        itemValues.put("waxed_oxidized_cut_copper", 25.12);
-        itemValues.put("waxed_oxidized_cut_copper_slab", 12.3);
-        itemValues.put("waxed_oxidized_cut_copper_stairs", 35.78);
-        itemValues.put("waxed_weathered_chiseled_copper", 49.47);
-        itemValues.put("waxed_weathered_copper", 38.7);
-        itemValues.put("waxed_weathered_copper_bulb", 38.7);
-        itemValues.put("waxed_weathered_copper_door", 38.7);
-        itemValues.put("waxed_weathered_copper_grate", 38.7);
-        itemValues.put("waxed_weathered_copper_trapdoor", 38.7);
-        itemValues.put("waxed_weathered_cut_copper", 37.54);
-        itemValues.put("waxed_weathered_cut_copper_slab", 18.4);
-        itemValues.put("waxed_weathered_cut_copper_stairs", 53.49);
-        itemValues.put("way_finder_armor_trim_smithing_template", 8850.7);
-        itemValues.put("weathered_chiseled_copper", 49.47);
-        itemValues.put("weathered_copper", 38.7);
-        itemValues.put("weathered_copper_bulb", 38.7);
-        itemValues.put("weathered_copper_door", 38.7);
-        itemValues.put("weathered_copper_grate", 38.7);
-        itemValues.put("weathered_copper_trapdoor", 38.7);
-        itemValues.put("weathered_cut_copper", 37.54);
-        itemValues.put("weathered_cut_copper_slab", 18.4);
-        itemValues.put("weathered_cut_copper_stairs", 53.49);
-        itemValues.put("weeping_vines", 0.03);
-        itemValues.put("wet_sponge", 68.28);
-        itemValues.put("wheat", 1.65);
-        itemValues.put("wheat_seeds", 0.55);
-        itemValues.put("white_banner", 42.9);
-        itemValues.put("white_bed", 27.62);
-        itemValues.put("white_bundle", 11.03);
-        itemValues.put("white_candle", 11.52);
-        itemValues.put("white_carpet", 4.9);
-        itemValues.put("white_concrete", 0.63);
-        itemValues.put("white_concrete_powder", 0.63);
-        itemValues.put("white_dye", 1.1);
-        itemValues.put("white_glazed_terracotta", 18.56);
-        itemValues.put("white_harness", 1194.44);
-        itemValues.put("white_shulker_box", 83.83);
-        itemValues.put("white_stained_glass", 0.76);
-        itemValues.put("white_stained_glass_pane", 0.27);
-        itemValues.put("white_terracotta", 14.85);
-        itemValues.put("white_tulip", 1.1);
-        itemValues.put("white_wool", 7.42);
-        itemValues.put("wild_armor_trim_smithing_template", 8850.7);
-        itemValues.put("wind_charge", 28.0);
-        itemValues.put("witch_spawn_egg", 55.0);
-        itemValues.put("wither_rose", 55.0);
-        itemValues.put("wither_skeleton_skull", 5000.0);
-        itemValues.put("wolf_armor", 1193.18);
-        itemValues.put("wooden_axe", 3.37);
-        itemValues.put("wooden_hoe", 2.82);
-        itemValues.put("wooden_pickaxe", 3.37);
-        itemValues.put("wooden_shovel", 1.71);
-        itemValues.put("wooden_sword", 2.27);
-        itemValues.put("writable_book", 9.83);
-        itemValues.put("written_book", 12.5);
-        itemValues.put("yellow_banner", 57.4);
-        itemValues.put("yellow_bed", 34.94);
-        itemValues.put("yellow_bundle", 13.59);
-        itemValues.put("yellow_candle", 14.09);
-        itemValues.put("yellow_carpet", 6.59);
-        itemValues.put("yellow_concrete", 0.93);
-        itemValues.put("yellow_concrete_powder", 0.93);
-        itemValues.put("yellow_dye", 3.69);
-        itemValues.put("yellow_glazed_terracotta", 18.93);
-        itemValues.put("yellow_harness", 1196.88);
-        itemValues.put("yellow_shulker_box", 86.4);
-        itemValues.put("yellow_stained_glass", 1.06);
-        itemValues.put("yellow_stained_glass_pane", 0.38);
-        itemValues.put("yellow_terracotta", 15.14);
-        itemValues.put("yellow_wool", 9.99);
-        itemValues.put("zombie_head", 5000.0);
-        itemValues.put("zombie_spawn_egg", 55.0);
-    }
+    // item ids are positions in the snapshot, so they only change when the catalog does.
+    // Catalogs are immutable; every call reads the reference once and prices against that one.
+    private static final AtomicReference<Catalog> currentCatalog =
+        new AtomicReference<Catalog>(CatalogSnapshot.loadDefault());
+    
+    private static final int STREAM_BUFFER_CHARS = 8192;
+    private static volatile int parallelThreshold = 16384;
+    private static final int MAP_WINDOW_BYTES = 1 << 28;
     
     public static double[] calculateTotal(String input) {
-        String[] items = input.split(",");
+        Catalog catalog = currentCatalog.get();
+        PricingTally tally = PricingTally.begin();
+        double total;
+        long version;
+        do {
+            version = catalog.pinVersion();
+            total = sumCart(catalog, input, 0, input.length(), PricingTally.attempt(tally));
+        } while (!catalog.isVersionCurrent(version));
+        PricingTally.end(tally, input.length(), total);
+        
+        int tokens = (int)(total / 1000);
+        return new double[]{total, tokens};
+    }
+    
+    /**
+     * Parallel version of calculateTotal(String) for very large carts, on the common pool.
+     * See calculateTotalParallel(String, ForkJoinPool).
+     */
+    public static double[] calculateTotalParallel(String input) {
+        return calculateTotalParallel(input, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Splits the cart at commas into chunks of about getParallelThreshold() chars, prices
+     * them on the pool and adds the partial totals back up in a fixed tree order. The
+     * split only depends on the input, so the result is the same on every run, but it
+     * can differ from calculateTotal(String) in the last bits. Carts at or below the
+     * threshold are priced sequentially.
+     */
+    public static double[] calculateTotalParallel(String input, ForkJoinPool pool) {
+        int threshold = parallelThreshold;
+        if (input.length() <= threshold) {
+            return calculateTotal(input);
+        }
+        
+        Catalog catalog = currentCatalog.get();
+        PricingTally tally = PricingTally.begin();
+        double total;
+        long version;
+        do {
+            version = catalog.pinVersion();
+            PricingTally.attempt(tally);
+            CartChunk root = pool.invoke(new CartChunk(catalog, input, 0, input.length(), threshold, tally));
+            total = root.total;
+            if (tally != null) {
+                tally.add(root.counts);
+            }
+        } while (!catalog.isVersionCurrent(version));
+        PricingTally.end(tally, input.length(), total);
+        
+        int tokens = (int)(total / 1000);
+        return new double[]{total, tokens};
+    }
+    
+    public static int getParallelThreshold() {
+        return parallelThreshold;
+    }
+    
+    /** cart length in chars below which calculateTotalParallel does not fork */
+    public static void setParallelThreshold(int chars) {
+        if (chars < 1) {
+            throw new IllegalArgumentException("threshold must be positive: " + chars);
+        }
+        parallelThreshold = chars;
+    }
+    
+    // Serializable only because ForkJoinTask is; a chunk never leaves the pool
+    @SuppressWarnings("serial")
+    private static final class CartChunk extends RecursiveTask<CartChunk> {
+        private static final long serialVersionUID = 1L;
+        
+        private final Catalog catalog;
+        private final String input;
+        private final int from;
+        private final int to;
+        private final int threshold;
+        private final PricingTally call; // only read, null unless the call is measured
+        double total;
+        PricingTally counts; // this chunk's counts, null unless the call is measured
+        
+        CartChunk(Catalog catalog, String input, int from, int to, int threshold, PricingTally call) {
+            this.catalog = catalog;
+            this.input = input;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.call = call;
+        }
+        
+        @Override
+        protected CartChunk compute() {
+            int split = to - from > threshold ? splitPoint() : -1;
+            if (split < 0) {
+                counts = PricingTally.part(call);
+                total = sumCart(catalog, input, from, to, counts);
+                return this;
+            }
+            CartChunk left = new CartChunk(catalog, input, from, split, threshold, call);
+            CartChunk right = new CartChunk(catalog, input, split + 1, to, threshold, call);
+            right.fork();
+            left.compute();
+            right.join();
+            total = left.total + right.total;
+            if (call != null) {
+                counts = left.counts;
+                counts.add(right.counts);
+            }
+            return this;
+        }
+        
+        // a comma near the middle, or -1 if the chunk has none
+        private int splitPoint() {
+            int middle = from + (to - from) / 2;
+            int comma = input.indexOf(',', middle);
+            if (comma >= 0 && comma < to) {
+                return comma;
+            }
+            comma = input.lastIndexOf(',', middle);
+            return comma >= from ? comma : -1;
+        }
+    }
+    
+    /**
+     * Prices a cart that is already resolved to item ids, skipping parsing and hashing.
+     * Unknown ids are skipped the same way unknown names are.
+     */
+    public static double[] calculateTotal(int[] ids, int[] quantities, int len) {
+        double total = totalOf(ids, quantities, len);
+        int tokens = (int)(total / 1000);
+        return new double[]{total, tokens};
+    }
+    
+    // calculateTotal(int[], int[], int) without the result array, for callers that write the total out directly
+    static double totalOf(int[] ids, int[] quantities, int len) {
+        Catalog catalog = currentCatalog.get();
+        PricingTally tally = PricingTally.begin();
+        double total;
+        long version;
+        do {
+            version = catalog.pinVersion();
+            total = sumIds(catalog, ids, quantities, len, PricingTally.attempt(tally));
+        } while (!catalog.isVersionCurrent(version));
+        PricingTally.end(tally, len, total);
+        return total;
+    }
+    
+    /**
+     * Bulk version of calculateTotal(int[], int[], int) for large columnar batches.
+     * Uses the SIMD kernel when available (see BatchPricer), so the total can differ
+     * from the scalar sum in the last bits.
+     */
+    public static double[] calculateTotalBatch(int[] ids, int[] quantities, int len) {
+        Catalog catalog = currentCatalog.get();
+        PricingTally tally = PricingTally.begin();
+        double total;
+        long version;
+        do {
+            version = catalog.pinVersion();
+            PricingTally.attempt(tally);
+            long mark = tally != null && tally.timed() ? System.nanoTime() : 0;
+            total = BatchPricer.total(catalog, ids, quantities, len);
+            if (tally != null) {
+                // the kernel only returns the sum, count the ids it priced separately
+                countIds(catalog, ids, len, tally);
+                if (tally.timed()) {
+                    tally.lookedUp(mark);
+                }
+            }
+        } while (!catalog.isVersionCurrent(version));
+        PricingTally.end(tally, len, total);
+        
+        int tokens = (int)(total / 1000);
+        return new double[]{total, tokens};
+    }
+    
+    /**
+     * Same as calculateTotal, but with prices as longs in hundredths (PRICE_SCALE).
+     * The total is exact and does not depend on the order of the cart.
+     * Returns {total in hundredths, tokens} and throws ArithmeticException on overflow.
+     */
+    public static long[] calculateTotalFixed(String input) {
+        Catalog catalog = currentCatalog.get();
+        PricingTally tally = PricingTally.begin();
+        long total;
+        long version;
+        do {
+            version = catalog.pinVersion();
+            total = sumCartFixed(catalog, input, 0, input.length(), PricingTally.attempt(tally));
+        } while (!catalog.isVersionCurrent(version));
+        PricingTally.end(tally, input.length(), (double) total / PRICE_SCALE);
+        
+        long tokens = total / (1000L * PRICE_SCALE);
+        return new long[]{total, tokens};
+    }
+    
+    /** fixed point version of calculateTotal(int[], int[], int), see calculateTotalFixed(String) */
+    public static long[] calculateTotalFixed(int[] ids, int[] quantities, int len) {
+        Catalog catalog = currentCatalog.get();
+        PricingTally tally = PricingTally.begin();
+        long total;
+        long version;
+        do {
+            version = catalog.pinVersion();
+            total = sumIdsFixed(catalog, ids, quantities, len, PricingTally.attempt(tally));
+        } while (!catalog.isVersionCurrent(version));
+        PricingTally.end(tally, len, (double) total / PRICE_SCALE);
+        
+        long tokens = total / (1000L * PRICE_SCALE);
+        return new long[]{total, tokens};
+    }
+    
+    /**
+     * Streaming version of calculateTotal(String) for carts too large to hold in memory.
+     * Reads through a buffer that only grows when a single entry does not fit, so memory
+     * use follows the longest entry rather than the input size, and returns the same
+     * result as calculateTotal on the whole text.
+     * With live prices, each buffer window is priced against one version of the prices.
+     */
+    public static double[] calculateTotal(Reader reader) throws IOException {
+        Catalog catalog = currentCatalog.get();
+        char[] buffer = new char[STREAM_BUFFER_CHARS];
+        CharBuffer window = CharBuffer.wrap(buffer);
+        CartScanner scanner = new CartScanner().reset(window, 0, 0);
+        PricingTally tally = PricingTally.begin();
         double total = 0.0;
-        boolean foundAny = false;
+        long length = 0;
+        int limit = 0;
+        boolean endOfInput = false;
         
-        for (String item : items) {
-            item = item.trim();
+        while (!endOfInput) {
+            int read = reader.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                endOfInput = true;
+            } else {
+                limit += read;
+                length += read;
+            }
             
-            String[] parts = item.split("\\s+");
+            double windowTotal;
+            long version;
+            do {
+                version = catalog.pinVersion();
+                scanner.resume(window, 0, limit, endOfInput);
+                windowTotal = sumEntries(catalog, scanner, total, PricingTally.attempt(tally));
+            } while (!catalog.isVersionCurrent(version));
+            PricingTally.keep(tally);
+            total = windowTotal;
             
-            if (parts.length == 1) {
-                String itemName = parts[0];
-                if (itemValues.containsKey(itemName)) {
-                    double value = itemValues.get(itemName);
-                    total += value;
-                    foundAny = true;
-                }
-            } else if (parts.length == 2) {
-                String itemName = parts[0];
-                try {
-                    int quantity = Integer.parseInt(parts[1]);
-                    if (itemValues.containsKey(itemName)) {
-                        double value = itemValues.get(itemName);
-                        double subtotal = value * quantity;
-                        total += subtotal;
-                        foundAny = true;
+            int rest = scanner.position();
+            if (rest == 0 && limit == buffer.length) {
+                // one entry fills the whole buffer, padded names and zero-padded quantities
+                // can still be valid, so make room for the rest of it
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                window = CharBuffer.wrap(buffer);
+            } else {
+                System.arraycopy(buffer, rest, buffer, 0, limit - rest);
+                limit -= rest;
+            }
+        }
+        PricingTally.end(tally, length, total);
+        
+        int tokens = (int)(total / 1000);
+        return new double[]{total, tokens};
+    }
+    
+    /** streaming calculateTotal over UTF-8 bytes, see calculateTotal(Reader) */
+    public static double[] calculateTotal(InputStream in) throws IOException {
+        return calculateTotal(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Prices UTF-8 cart text between the buffer's position and limit straight from the
+     * bytes, without creating Strings. Same result as calculateTotal on the decoded text
+     * as long as quantities are written with ASCII digits. The buffer is not moved.
+     */
+    public static double[] calculateTotal(ByteBuffer cart) {
+        Catalog catalog = currentCatalog.get();
+        CartScanner scanner = new CartScanner();
+        PricingTally tally = PricingTally.begin();
+        double total;
+        long version;
+        do {
+            version = catalog.pinVersion();
+            scanner.reset(cart, cart.position(), cart.limit());
+            total = sumEntries(catalog, scanner, 0.0, PricingTally.attempt(tally));
+        } while (!catalog.isVersionCurrent(version));
+        PricingTally.end(tally, cart.remaining(), total);
+        
+        int tokens = (int)(total / 1000);
+        return new double[]{total, tokens};
+    }
+    
+    /**
+     * Prices an order file holding one large UTF-8 cart by memory mapping it, window by
+     * window, and scanning the mapped bytes like calculateTotal(ByteBuffer). An entry
+     * cut by the end of a window starts the next one, and an entry longer than a whole
+     * window is mapped again with a bigger window, so every entry is priced.
+     */
+    public static double[] calculateTotal(Path orderFile) throws IOException {
+        Catalog catalog = currentCatalog.get();
+        CartScanner scanner = new CartScanner().reset(ByteBuffer.allocate(0), 0, 0);
+        PricingTally tally = PricingTally.begin();
+        double total = 0.0;
+        long size;
+        
+        try (FileChannel channel = FileChannel.open(orderFile, StandardOpenOption.READ)) {
+            size = channel.size();
+            long offset = 0;
+            int windowBytes = MAP_WINDOW_BYTES;
+            boolean last = false;
+            
+            while (!last) {
+                int length = (int) Math.min(windowBytes, size - offset);
+                last = offset + length == size;
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                
+                double windowTotal;
+                long version;
+                do {
+                    version = catalog.pinVersion();
+                    scanner.resume(window, 0, length, last);
+                    windowTotal = sumEntries(catalog, scanner, total, PricingTally.attempt(tally));
+                } while (!catalog.isVersionCurrent(version));
+                PricingTally.keep(tally);
+                total = windowTotal;
+                
+                int rest = scanner.position();
+                if (rest == 0 && !last) {
+                    // one entry spans the whole window, map it again with room for the rest
+                    if (windowBytes == Integer.MAX_VALUE) {
+                        throw new IOException("entry at byte " + offset + " is longer than 2GB");
                     }
-                } catch (NumberFormatException e) {
-                    // Skip invalid quantities
+                    windowBytes = (int) Math.min(2L * windowBytes, Integer.MAX_VALUE);
+                } else {
+                    offset += rest;
                 }
             }
         }
+        PricingTally.end(tally, size, total);
         
-        int tokens = foundAny ? (int)(total / 1000) : 0;
+        int tokens = (int)(total / 1000);
         return new double[]{total, tokens};
     }
     
+    // Unknown items contribute nothing, so an empty or unknown cart sums to 0 and 0 tokens.
+    // The loops below count entries into the tally when they get one, see PricingTally.
+    static double sumCart(Catalog catalog, CharSequence input, int from, int to, PricingTally tally) {
+        return sumEntries(catalog, new CartScanner().reset(input, from, to), 0.0, tally);
+    }
+    
+    // adds every entry the scanner has left to total, in cart order
+    private static double sumEntries(Catalog catalog, CartScanner scanner, double total, PricingTally tally) {
+        boolean timed = tally != null && tally.timed();
+        long mark = timed ? System.nanoTime() : 0;
+        int kind;
+        while ((kind = scanner.next()) != CartScanner.END) {
+            if (timed) {
+                mark = tally.parsed(mark);
+            }
+            if (kind != CartScanner.ITEM) {
+                // Skip invalid quantities and formats
+                if (tally != null) {
+                    tally.invalid(kind);
+                }
+                continue;
+            }
+            int id = scanner.lookup(catalog);
+            if (id >= 0) {
+                double value = catalog.priceAt(id);
+                total += value * scanner.quantity;
+            }
+            if (tally != null) {
+                tally.item(id >= 0);
+                if (timed) {
+                    mark = tally.lookedUp(mark);
+                }
+            }
+        }
+        if (timed) {
+            tally.parsed(mark);
+        }
+        return total;
+    }
+    
+    static double sumIds(Catalog catalog, int[] ids, int[] quantities, int len, PricingTally tally) {
+        long mark = tally != null && tally.timed() ? System.nanoTime() : 0;
+        int count = catalog.size();
+        int priced = 0;
+        double total = 0.0;
+        for (int i = 0; i < len; i++) {
+            int id = ids[i];
+            if (id >= 0 && id < count) {
+                total += catalog.priceAt(id) * quantities[i];
+                priced++;
+            }
+        }
+        if (tally != null) {
+            countedIds(tally, priced, len, mark);
+        }
+        return total;
+    }
+    
+    // for the batch kernel, which only hands back the sum
+    private static void countIds(Catalog catalog, int[] ids, int len, PricingTally tally) {
+        int count = catalog.size();
+        int priced = 0;
+        for (int i = 0; i < len; i++) {
+            if (ids[i] >= 0 && ids[i] < count) {
+                priced++;
+            }
+        }
+        tally.priced += priced;
+        tally.unknown += len - priced;
+    }
+    
+    // ids are already resolved, so all of an id call's time is lookup time
+    private static void countedIds(PricingTally tally, int priced, int len, long mark) {
+        tally.priced += priced;
+        tally.unknown += len - priced;
+        if (tally.timed()) {
+            tally.lookedUp(mark);
+        }
+    }
+    
+    static long sumCartFixed(Catalog catalog, CharSequence input, int from, int to, PricingTally tally) {
+        return sumEntriesFixed(catalog, new CartScanner().reset(input, from, to), tally);
+    }
+    
+    // sumEntries in hundredths, throws ArithmeticException on overflow
+    private static long sumEntriesFixed(Catalog catalog, CartScanner scanner, PricingTally tally) {
+        boolean timed = tally != null && tally.timed();
+        long mark = timed ? System.nanoTime() : 0;
+        long total = 0;
+        
+        int kind;
+        while ((kind = scanner.next()) != CartScanner.END) {
+            if (timed) {
+                mark = tally.parsed(mark);
+            }
+            if (kind != CartScanner.ITEM) {
+                if (tally != null) {
+                    tally.invalid(kind);
+                }
+                continue;
+            }
+            int id = scanner.lookup(catalog);
+            if (id >= 0) {
+                total = Math.addExact(total, Math.multiplyExact(catalog.fixedPriceAt(id), (long) scanner.quantity));
+            }
+            if (tally != null) {
+                tally.item(id >= 0);
+                if (timed) {
+                    mark = tally.lookedUp(mark);
+                }
+            }
+        }
+        if (timed) {
+            tally.parsed(mark);
+        }
+        return total;
+    }
+    
+    static long sumIdsFixed(Catalog catalog, int[] ids, int[] quantities, int len, PricingTally tally) {
+        long mark = tally != null && tally.timed() ? System.nanoTime() : 0;
+        int count = catalog.size();
+        int priced = 0;
+        long total = 0;
+        for (int i = 0; i < len; i++) {
+            int id = ids[i];
+            if (id >= 0 && id < count) {
+                total = Math.addExact(total, Math.multiplyExact(catalog.fixedPriceAt(id), (long) quantities[i]));
+                priced++;
+            }
+        }
+        if (tally != null) {
+            countedIds(tally, priced, len, mark);
+        }
+        return total;
+    }
+    
+    /**
+     * Switches to a catalog whose prices can be changed one item at a time with
+     * updateItemValue. Each cart is still priced against a single version of the prices.
+     */
+    public static void enableLivePrices() {
+        Catalog catalog;
+        do {
+            catalog = currentCatalog.get();
+            if (catalog instanceof LiveCatalog) {
+                return;
+            }
+        } while (!currentCatalog.compareAndSet(catalog, new LiveCatalog(catalog)));
+    }
+    
+    /**
+     * Sets one item's price, see enableLivePrices. The price must be whole hundredths
+     * (PRICE_SCALE) so calculateTotal and calculateTotalFixed keep agreeing; anything
+     * finer, NaN or infinite throws IllegalArgumentException.
+     */
+    public static void updateItemValue(int itemId, double value) {
+        Catalog catalog = currentCatalog.get();
+        if (!(catalog instanceof LiveCatalog)) {
+            throw new IllegalStateException("live prices are not enabled");
+        }
+        ((LiveCatalog) catalog).update(itemId, value);
+    }
+    
+    // resolves and updates on the same catalog, so a reload in between can't move the id to another item
+    public static void updateItemValue(String itemName, double value) {
+        Catalog catalog = currentCatalog.get();
+        if (!(catalog instanceof LiveCatalog)) {
+            throw new IllegalStateException("live prices are not enabled");
+        }
+        int id = catalog.indexOf(itemName, 0, itemName.length());
+        if (id < 0) {
+            throw new IllegalArgumentException("unknown item: " + itemName);
+        }
+        ((LiveCatalog) catalog).update(id, value);
+    }
+    
+    /**
+     * Loads a new catalog snapshot from the file and swaps it in. Calls already running
+     * finish on the old catalog; readers never block and never see a partial catalog.
+     * Item ids follow the new snapshot afterwards, and live prices stay enabled with the
+     * snapshot's prices. Returns the number of items loaded.
+     */
+    public static int reloadCatalog(Path file) throws IOException {
+        Catalog loaded = CatalogSnapshot.load(file);
+        Catalog current;
+        Catalog next;
+        // compare-and-set so an enableLivePrices racing with the reload isn't lost
+        do {
+            current = currentCatalog.get();
+            next = current instanceof LiveCatalog ? new LiveCatalog(loaded) : loaded;
+        } while (!currentCatalog.compareAndSet(current, next));
+        return next.size();
+    }
+    
+    /** item names indexed by item id */
     public static String[] getItemNames() {
-        return itemValues.keySet().toArray(new String[0]);
+        Catalog catalog = currentCatalog.get();
+        String[] names = new String[catalog.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = catalog.nameAt(i);
+        }
+        return names;
+    }
+    
+    public static int getItemCount() {
+        return currentCatalog.get().size();
+    }
+    
+    /** id of the item, or -1 if it is not in the catalog */
+    public static int getItemId(String itemName) {
+        return currentCatalog.get().indexOf(itemName, 0, itemName.length());
+    }
+    
+    /** name of the item, or null for an id outside the catalog */
+    public static String getItemName(int itemId) {
+        Catalog catalog = currentCatalog.get();
+        return itemId >= 0 && itemId < catalog.size() ? catalog.nameAt(itemId) : null;
     }
     
     public static boolean hasItem(String itemName) {
-        return itemValues.containsKey(itemName);
+        return currentCatalog.get().indexOf(itemName, 0, itemName.length()) >= 0;
     }
     
     public static double getItemValue(String itemName) {
-        return itemValues.getOrDefault(itemName, 0.0);
+        Catalog catalog = currentCatalog.get();
+        int id = catalog.indexOf(itemName, 0, itemName.length());
+        return id >= 0 ? catalog.priceAt(id) : 0.0;
+    }
+    
+    /** 0.0 for an id outside the catalog, the same as calculateTotal skipping it */
+    public static double getItemValue(int itemId) {
+        Catalog catalog = currentCatalog.get();
+        return itemId >= 0 && itemId < catalog.size() ? catalog.priceAt(itemId) : 0.0;
     }
 }
@@ -0,0 +1,137 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+
+/**
+ * Catalog whose prices can be updated one item at a time while readers keep
+ * going without locks. Names and ids come from the wrapped catalog, prices
+ * live in primitive arrays accessed through VarHandles.
+ *
+ * Writers are striped by item id: a writer takes its stripe's lock and bumps
+ * the stripe's started and completed counters around the write. A reader pins
+ * a version (the sum of all started counters, taken while no stripe has a
+ * write in flight), prices the cart, and checks that no write started since.
+ * If one did, the cart is priced again, so a cart never mixes old and new prices.
+ *
+ * Prices are whole hundredths, like the catalog file's, so the double and the
+ * fixed-point (PRICE_SCALE) copy of a price always agree; update() refuses
+ * anything finer rather than round one copy and not the other.
+ */
+final class LiveCatalog implements Catalog {
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int STRIPES = 16;
+    // each counter sits on its own 128 byte line so writer stripes don't false share
+    private static final int PAD = 16;
+
+    private final Catalog base;
+    private final long[] priceBits;
+    private final long[] fixedPrices;
+    private final long[] counters = new long[STRIPES * 2 * PAD];
+    private final Object[] locks = new Object[STRIPES];
+
+    LiveCatalog(Catalog base) {
+        this.base = base;
+        int count = base.size();
+        priceBits = new long[count];
+        fixedPrices = new long[count];
+        for (int id = 0; id < count; id++) {
+            priceBits[id] = Double.doubleToRawLongBits(base.priceAt(id));
+            fixedPrices[id] = base.fixedPriceAt(id);
+        }
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    void update(int id, double price) {
+        if (id < 0 || id >= priceBits.length) {
+            throw new IndexOutOfBoundsException("item id " + id + " out of range 0.." + priceBits.length);
+        }
+        long fixed = PriceTable.toFixed(price);
+        if (!(fixed / (double) ItemValueCalculator.PRICE_SCALE == price)) {
+            // also refuses NaN and the infinities
+            throw new IllegalArgumentException("price must be a whole number of hundredths: " + price);
+        }
+        int stripe = id & (STRIPES - 1);
+        synchronized (locks[stripe]) {
+            LONGS.getAndAdd(counters, started(stripe), 1L);
+            LONGS.setVolatile(priceBits, id, Double.doubleToRawLongBits(price));
+            LONGS.setVolatile(fixedPrices, id, fixed);
+            LONGS.getAndAdd(counters, completed(stripe), 1L);
+        }
+    }
+
+    Catalog base() {
+        return base;
+    }
+
+    @Override
+    public long pinVersion() {
+        while (true) {
+            long version = 0;
+            boolean quiet = true;
+            for (int stripe = 0; stripe < STRIPES && quiet; stripe++) {
+                long started = (long) LONGS.getVolatile(counters, started(stripe));
+                quiet = (long) LONGS.getVolatile(counters, completed(stripe)) == started;
+                version += started;
+            }
+            if (quiet) {
+                return version;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    @Override
+    public boolean isVersionCurrent(long version) {
+        long current = 0;
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            current += (long) LONGS.getVolatile(counters, started(stripe));
+        }
+        return current == version;
+    }
+
+    @Override
+    public int size() {
+        return base.size();
+    }
+
+    @Override
+    public int indexOf(CharSequence s, int from, int to) {
+        return base.indexOf(s, from, to);
+    }
+
+    @Override
+    public int indexOf(ByteBuffer bytes, int from, int to) {
+        return base.indexOf(bytes, from, to);
+    }
+
+    @Override
+    public String nameAt(int id) {
+        return base.nameAt(id);
+    }
+
+    @Override
+    public double priceAt(int id) {
+        return Double.longBitsToDouble((long) LONGS.getVolatile(priceBits, id));
+    }
+
+    @Override
+    public long fixedPriceAt(int id) {
+        return (long) LONGS.getVolatile(fixedPrices, id);
+    }
+
+    @Override
+    public double[] priceArray() {
+        // prices move under the reader, batch kernels use priceAt
+        return null;
+    }
+
+    private static int started(int stripe) {
+        return stripe * 2 * PAD;
+    }
+
+    private static int completed(int stripe) {
+        return stripe * 2 * PAD + PAD;
+    }
+}
@@ -1,31 +1,239 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Locale;
 import java.util.Scanner;
 
 public class Main {
     
+    private static final int BATCH_BUFFER_CHARS = 1 << 16;
+    // flushed at least this often, and whenever the input has nothing buffered
+    private static final int BATCH_FLUSH_LINES = 8192;
+    
+    private static WorkloadFile.Recorder recorder;
+    
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("batch")) {
+            String file = args.length > 1 ? args[1] : "-";
+            try {
+                runBatch(file);
+            } catch (IOException e) {
+                System.err.println("batch failed: " + e.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
+        if (args.length > 0 && args[0].equals("serve")) {
+            int port = port(args, 8080);
+            if (port < 0) {
+                System.err.println("usage: java Main serve [port], port 0-65535, got " + args[1]);
+                System.exit(1);
+            }
+            PricingServer.preferNoDelay();
+            try {
+                PricingServer server = PricingServer.start(new InetSocketAddress(port));
+                System.out.println("pricing on http://localhost:" + server.address().getPort() + PricingServer.PRICE_PATH
+                    + " and " + PricingServer.BATCH_PATH);
+            } catch (IOException e) {
+                System.err.println("could not start server: " + e.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
+        if (args.length > 0 && args[0].equals("serve-binary")) {
+            int port = port(args, 8081);
+            if (port < 0) {
+                System.err.println("usage: java Main serve-binary [port], port 0-65535, got " + args[1]);
+                System.exit(1);
+            }
+            try {
+                BinaryPricingServer server = BinaryPricingServer.start(new InetSocketAddress(port));
+                System.out.println("binary pricing on port " + server.address().getPort());
+                // the selector thread is a daemon, keep the jvm up for it
+                Thread.currentThread().join();
+            } catch (IOException e) {
+                System.err.println("could not start server: " + e.getMessage());
+                System.exit(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return;
+        }
+        if (args.length > 0 && args[0].equals("pipeline")) {
+            String file = args.length > 1 ? args[1] : "-";
+            int workers = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+            try {
+                runPipeline(file, workers);
+            } catch (IOException e) {
+                System.err.println("pipeline failed: " + e.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
+        
         Scanner scanner = new Scanner(System.in);
         System.out.println("item value data structure hashmap and performance test");
         System.out.println("examples: 'kelp 64' or 'diamond 5, iron_ingot 32'");
         System.out.println("perf = run performance test");
+        System.out.println("load = run concurrent load test");
+        System.out.println("openloop = sweep a fixed request rate up to saturation");
+        System.out.println("alloc = measure bytes allocated per cart against the budget");
+        System.out.println("http = load test the http pricing service on loopback");
+        System.out.println("binary = load test the binary pricing protocol on loopback");
+        System.out.println("record <file> = save entered carts to a workload file, record off = stop");
+        System.out.println("replay <file> = price a recorded workload file");
+        System.out.println("'java Main batch [file]' prices one cart per line from a file or stdin");
+        System.out.println("'java Main pipeline [file] [workers]' does the same on parallel pricing workers");
+        System.out.println("'java Main serve [port]' runs the http pricing service");
+        System.out.println("'java Main serve-binary [port]' runs the binary pricing service");
         System.out.println();
         
         while (true) {
             System.out.print("enter items or command: ");
-            String input = scanner.nextLine().toLowerCase().trim();
+            String line = scanner.nextLine().trim();
+            String input = line.toLowerCase();
             
             if (input.equals("exit")) {
                 System.out.println("lalalal!");
                 break;
             } else if (input.equals("perf") || input.equals("performance")) {
                 PerformanceTestRunner.runPerformanceTests();
+            } else if (input.equals("load")) {
+                PerformanceTestRunner.runConcurrentLoadTests();
+            } else if (input.equals("http")) {
+                PerformanceTestRunner.runHttpLoadTests();
+            } else if (input.equals("binary")) {
+                PerformanceTestRunner.runBinaryLoadTests();
+            } else if (input.equals("alloc")) {
+                PerformanceTestRunner.runAllocationTests();
+            } else if (input.equals("openloop")) {
+                PerformanceTestRunner.runOpenLoopTests();
+            } else if (input.startsWith("replay ")) {
+                replay(line.substring("replay ".length()).trim());
+            } else if (input.startsWith("record ")) {
+                record(line.substring("record ".length()).trim());
             } else {
+                if (recorder != null) {
+                    try {
+                        recorder.record(input);
+                    } catch (IOException e) {
+                        System.out.println("recording failed: " + e.getMessage());
+                    }
+                }
                 calculateTotal(input);
             }
         }
         
+        record("off");
         scanner.close();
     }
     
+    /**
+     * Prices one cart per line from the file, or stdin for "-", and writes
+     * "total tokens" per line to stdout in the same order. Input and output go
+     * through 64K buffers and output is flushed every few thousand lines, or
+     * sooner when the input stalls, instead of once per value. A summary goes
+     * to stderr so it stays out of the results. Malformed UTF-8 is replaced,
+     * not fatal, whether the carts come from a file or stdin.
+     */
+    private static void runBatch(String file) throws IOException {
+        long start = System.nanoTime();
+        long carts = 0;
+        
+        try (BufferedReader reader = batchReader(file);
+             BufferedWriter writer = batchWriter()) {
+            StringBuilder out = new StringBuilder(32);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                double[] result = ItemValueCalculator.calculateTotal(line.toLowerCase(Locale.ROOT));
+                out.setLength(0);
+                out.append(result[0]).append(' ').append((int) result[1]).append('\n');
+                writer.append(out);
+                carts++;
+                if (carts % BATCH_FLUSH_LINES == 0 || !reader.ready()) {
+                    writer.flush();
+                }
+            }
+        }
+        
+        long elapsed = System.nanoTime() - start;
+        System.err.printf("priced %d carts in %.1f ms (%.0f carts/sec)%n",
+            carts, elapsed / 1e6, carts * 1e9 / Math.max(1, elapsed));
+    }
+    
+    /**
+     * Batch mode on a PricingPipeline: same input and output as runBatch, with
+     * reading, pricing and writing overlapped. The stage report goes to stderr.
+     */
+    private static void runPipeline(String file, int workers) throws IOException {
+        try (BufferedReader reader = batchReader(file);
+             BufferedWriter writer = batchWriter()) {
+            PricingPipeline.Report report = new PricingPipeline(workers, 1024).run(reader, writer);
+            System.err.println(report);
+        }
+    }
+    
+    // the port in args[1], fallback when there is none, -1 when it is not a port
+    private static int port(String[] args, int fallback) {
+        if (args.length < 2) {
+            return fallback;
+        }
+        try {
+            int port = Integer.parseInt(args[1]);
+            return port >= 0 && port <= 0xFFFF ? port : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+    
+    private static BufferedReader batchReader(String file) throws IOException {
+        // files and stdin decode alike: malformed UTF-8 becomes U+FFFD, which matches no
+        // item, so a bad line prices like an unknown item instead of aborting the run
+        InputStream source = file.equals("-")
+            ? new FileInputStream(FileDescriptor.in)
+            : Files.newInputStream(Paths.get(file));
+        return new BufferedReader(new InputStreamReader(source, StandardCharsets.UTF_8), BATCH_BUFFER_CHARS);
+    }
+    
+    private static BufferedWriter batchWriter() {
+        return new BufferedWriter(new OutputStreamWriter(
+            new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8), BATCH_BUFFER_CHARS);
+    }
+    
+    private static void replay(String file) {
+        try {
+            PerformanceTestRunner.runReplay(Paths.get(file));
+        } catch (IOException e) {
+            System.out.println("could not replay " + file + ": " + e.getMessage());
+        }
+    }
+    
+    private static void record(String file) {
+        try {
+            if (recorder != null) {
+                recorder.close();
+                System.out.println("recorded " + recorder.count() + " carts");
+                recorder = null;
+            }
+            if (!file.equalsIgnoreCase("off")) {
+                recorder = WorkloadFile.record(Paths.get(file));
+                System.out.println("recording carts to " + file);
+            }
+        } catch (IOException e) {
+            System.out.println("could not record to " + file + ": " + e.getMessage());
+        }
+    }
+    
     private static void calculateTotal(String input) {
         String[] items = input.split(",");
         double total = 0.0;
@@ -0,0 +1,150 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Catalog backend that memory maps a catalog.bin snapshot read-only and does
+ * every lookup against the mapped bytes, so nothing but this object lives on
+ * the heap and all JVMs on a host share one page cache copy of the file.
+ *
+ * Select it with -Dcatalog.backend=mapped. Only absolute gets are used on the
+ * buffer, so it is safe to share between threads. Names are compared byte by
+ * char while the catalog is plain ASCII, otherwise they are decoded first.
+ */
+final class MappedCatalog implements Catalog {
+    private final MappedByteBuffer buffer;
+    private final int count;
+    private final int seed;
+    private final int bucketCount;
+    private final int pricesAt;
+    private final int displacementsAt;
+    private final int slotIdsAt;
+    private final int nameOffsetsAt;
+    private final boolean asciiNames;
+
+    private MappedCatalog(MappedByteBuffer buffer, CatalogSnapshot.Layout layout, boolean asciiNames) {
+        this.buffer = buffer;
+        this.count = layout.count;
+        this.seed = layout.seed;
+        this.bucketCount = layout.bucketCount;
+        this.pricesAt = layout.pricesAt;
+        this.displacementsAt = layout.displacementsAt;
+        this.slotIdsAt = layout.slotIdsAt;
+        this.nameOffsetsAt = layout.nameOffsetsAt;
+        this.asciiNames = asciiNames;
+    }
+
+    static MappedCatalog open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(file + " is too large for a catalog snapshot");
+            }
+            // the mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            CatalogSnapshot.Layout layout = CatalogSnapshot.layout(buffer);
+            CatalogSnapshot.verify(buffer, layout);
+            boolean asciiNames = true;
+            for (int at = layout.namesAt; at < buffer.limit(); at++) {
+                asciiNames &= buffer.get(at) >= 0;
+            }
+            return new MappedCatalog(buffer, layout, asciiNames);
+        }
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public int indexOf(CharSequence s, int from, int to) {
+        if (count == 0) {
+            return -1;
+        }
+        int h = PriceTable.hash(seed, s, from, to);
+        int displacement = buffer.getInt(displacementsAt + PriceTable.bucket(h, bucketCount) * Integer.BYTES);
+        int id = buffer.getInt(slotIdsAt + PriceTable.slot(h, displacement, count) * Integer.BYTES);
+        return matches(id, s, from, to) ? id : -1;
+    }
+
+    @Override
+    public int indexOf(ByteBuffer bytes, int from, int to) {
+        if (!asciiNames) {
+            return Catalog.super.indexOf(bytes, from, to);
+        }
+        if (count == 0) {
+            return -1;
+        }
+        int h = PriceTable.hash(seed, bytes, from, to);
+        int displacement = buffer.getInt(displacementsAt + PriceTable.bucket(h, bucketCount) * Integer.BYTES);
+        int id = buffer.getInt(slotIdsAt + PriceTable.slot(h, displacement, count) * Integer.BYTES);
+        int at = buffer.getInt(nameOffsetsAt + id * Integer.BYTES);
+        int length = buffer.getShort(at) & 0xFFFF;
+        if (length != to - from) {
+            return -1;
+        }
+        at += 2;
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(at + i) != bytes.get(from + i)) {
+                return -1;
+            }
+        }
+        return id;
+    }
+
+    @Override
+    public String nameAt(int id) {
+        int at = nameOffset(id);
+        int length = buffer.getShort(at) & 0xFFFF;
+        byte[] bytes = new byte[length];
+        buffer.get(at + 2, bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public double priceAt(int id) {
+        if (id < 0 || id >= count) {
+            throw new IndexOutOfBoundsException("item id " + id + " out of range 0.." + count);
+        }
+        return buffer.getDouble(pricesAt + id * Double.BYTES);
+    }
+
+    @Override
+    public long fixedPriceAt(int id) {
+        return PriceTable.toFixed(priceAt(id));
+    }
+
+    @Override
+    public double[] priceArray() {
+        return null;
+    }
+
+    private int nameOffset(int id) {
+        if (id < 0 || id >= count) {
+            throw new IndexOutOfBoundsException("item id " + id + " out of range 0.." + count);
+        }
+        return buffer.getInt(nameOffsetsAt + id * Integer.BYTES);
+    }
+
+    private boolean matches(int id, CharSequence s, int from, int to) {
+        int at = buffer.getInt(nameOffsetsAt + id * Integer.BYTES);
+        int length = buffer.getShort(at) & 0xFFFF;
+        if (!asciiNames) {
+            return nameAt(id).contentEquals(s.subSequence(from, to));
+        }
+        if (length != to - from) {
+            return false;
+        }
+        at += 2;
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(at + i) != s.charAt(from + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
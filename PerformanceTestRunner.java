@@ -1,41 +1,136 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.LockSupport;
 
 public class PerformanceTestRunner {
     
     private static String[] itemNames = ItemValueCalculator.getItemNames();
-    private static Random random = new Random();
+    static final String SEED_PROPERTY = "perf.seed";
+    static final String RECORD_PROPERTY = "perf.record";
+    static final String RATE_PROPERTY = "perf.rate";
+    static final String ALLOC_BUDGET_PROPERTY = "perf.alloc.budget";
+    // calculateTotal allocates its result array; the budget leaves room for that and little else
+    private static final long DEFAULT_ALLOC_BUDGET = 128;
+    private static final long DEFAULT_SEED = 42;
+    
+    // reseeded at the start of every run, so each run prices the same carts
+    private static Random random = new Random(DEFAULT_SEED);
+    // set while -Dperf.record=<file> is recording the generated carts
+    private static WorkloadFile.Recorder recorder;
+    private static final int CARTS_PER_SCENARIO = 64;
+    // totals are summed here so the timed calls can't be optimized away
+    private static double checksum;
     
     private static class TestResult {
         String testName;
         int itemCount;
-        long executionTimeNanos;
-        double totalValue;
-        int tokens;
+        LatencyHistogram latencies;
+        long allocatedBytes; // over all runs, -1 when the jvm can't tell
         
-        TestResult(String name, int count, long time, double value, int tokenCount) {
+        TestResult(String name, int count, LatencyHistogram latencies, long allocatedBytes) {
             this.testName = name;
             this.itemCount = count;
-            this.executionTimeNanos = time;
-            this.totalValue = value;
-            this.tokens = tokenCount;
+            this.latencies = latencies;
+            this.allocatedBytes = allocatedBytes;
         }
         
         @Override
         public String toString() {
-            return String.format("%s: %d items, %.2fms, Total Value: %.2f, Tokens: %d", 
-                testName, itemCount, executionTimeNanos / 1000000.0, totalValue, tokens);
+            return String.format("%s: %d items, %d runs, p50 %s, p90 %s, p99 %s, p99.9 %s, max %s",
+                testName, itemCount, latencies.count(), micros(latencies.valueAtPercentile(50)),
+                micros(latencies.valueAtPercentile(90)), micros(latencies.valueAtPercentile(99)),
+                micros(latencies.valueAtPercentile(99.9)), micros(latencies.max()));
         }
     }
     
     public static void runPerformanceTests() {
         System.out.println("performance test");
-        System.out.println("running multithread tests\n");
+        System.out.println("running multithread tests");
+        long seed = reseed();
+        System.out.println("workload seed " + seed + " (-D" + SEED_PROPERTY + "=<seed> to change)");
+        startRecording();
+        try {
+            runAllTests();
+        } finally {
+            stopRecording();
+        }
+    }
+    
+    /**
+     * Allocation profiling: runs the pricing scenarios and reports the bytes each
+     * one allocated per cart and per item, measured with the thread's allocation
+     * counter. Returns false if any scenario went over -Dperf.alloc.budget bytes
+     * per cart. "java PerformanceTestRunner alloc" exits with 1 in that case.
+     */
+    public static boolean runAllocationTests() {
+        long seed = reseed();
+        System.out.println("workload seed " + seed);
+        performWarmup();
+        ArrayList<TestResult> results = runScenarioTests();
+        System.out.println("\nallocation");
+        return printAllocationReport(results);
+    }
+    
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("alloc")) {
+            System.exit(runAllocationTests() ? 0 : 1);
+        }
+        runPerformanceTests();
+    }
+    
+    private static void runAllTests() {
+        System.out.println();
         
         // JVM Warm-up
         System.out.println("jvm warmup");
         performWarmup();
         System.out.println("warmup complete\n");
         
+        ArrayList<TestResult> results = runScenarioTests();
+        
+        // Test 8: Batch Pricing Kernel
+        System.out.println("\n8. batch pricing kernel (" + (BatchPricer.isVectorized() ? "vector" : "scalar only") + ")");
+        runBatchKernelTests();
+        runLivePriceCheck();
+        
+        // Test 9: Concurrent Load Tests
+        System.out.println("\n9. concurrent load");
+        runConcurrentLoadTests();
+        
+        // Test 10: Open Loop Rate Sweep
+        System.out.println("\n10. open loop rate sweep");
+        runOpenLoopTests();
+        
+        // Performance Summary
+        System.out.println("\nsummary");
+        printPerformanceSummary(results);
+        
+        // Allocation
+        System.out.println("\nallocation");
+        printAllocationReport(results);
+        
+        // Optimization Analysis
+        System.out.println("\n analysis");
+        analyzeOptimization(results);
+        
+        System.out.println("\nperformance test finished\n");
+    }
+    
+    private static ArrayList<TestResult> runScenarioTests() {
         ArrayList<TestResult> results = new ArrayList<TestResult>();
         
         // Test 1: Single Item Tests
@@ -66,106 +161,79 @@ public class PerformanceTestRunner {
         System.out.println("\n7. mixed item test");
         results.addAll(runMixedItemTypeTests());
         
-        // Performance Summary
-        System.out.println("\nsummary");
-        printPerformanceSummary(results);
-        
-        // Optimization Analysis
-        System.out.println("\n analysis");
-        analyzeOptimization(results);
-        
-        System.out.println("\nperformance test finished\n");
+        return results;
     }
     
     private static void performWarmup() {
-        for (int i = 0; i < 10; i++) {
+        for (int i = 0; i < 1000; i++) {
             String warmupInput = generateRandomItemInput(100);
             ItemValueCalculator.calculateTotal(warmupInput);
         }
     }
     
-    private static ArrayList<TestResult> runSingleItemTests() {
-        ArrayList<TestResult> results = new ArrayList<TestResult>();
+    /**
+     * Prices the carts round robin, timing every call into a histogram. Small carts
+     * get more runs so every scenario has thousands of samples and a usable p99.9.
+     */
+    private static TestResult runScenario(String name, String[] carts, int itemCount) {
+        int iterations = Math.max(2000, 200000 / itemCount);
+        LatencyHistogram latencies = new LatencyHistogram();
+        double sink = 0;
         
-        for (int i = 0; i < 5; i++) {
-            String randomItem = getRandomItem();
-            int quantity = random.nextInt(100) + 1;
-            String input = randomItem + " " + quantity;
-            
+        long allocatedBefore = allocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            String input = carts[i % carts.length];
             long startTime = System.nanoTime();
             double[] result = ItemValueCalculator.calculateTotal(input);
             long endTime = System.nanoTime();
-            
-            TestResult testResult = new TestResult("single item #" + (i+1), 1, 
-                endTime - startTime, result[0], (int)result[1]);
-            results.add(testResult);
-            System.out.println(testResult);
+            latencies.record(endTime - startTime);
+            sink += result[0];
         }
+        long allocatedAfter = allocatedBytes();
+        long allocated = allocatedBefore < 0 ? -1 : allocatedAfter - allocatedBefore;
         
-        return results;
+        record(name, carts);
+        TestResult testResult = new TestResult(name, itemCount, latencies, allocated);
+        checksum += sink;
+        System.out.println(testResult);
+        return testResult;
     }
     
-    private static ArrayList<TestResult> runSmallBatchTests() {
+    private static ArrayList<TestResult> runSingleItemTests() {
         ArrayList<TestResult> results = new ArrayList<TestResult>();
         
-        int[] batchSizes = {5, 10};
-        for (int batchSize : batchSizes) {
-            for (int test = 0; test < 3; test++) {
-                String input = generateRandomItemInput(batchSize);
-                
-                long startTime = System.nanoTime();
-                double[] result = ItemValueCalculator.calculateTotal(input);
-                long endTime = System.nanoTime();
-                
-                TestResult testResult = new TestResult("small batch " + batchSize + " items #" + (test+1), 
-                    batchSize, endTime - startTime, result[0], (int)result[1]);
-                results.add(testResult);
-                System.out.println(testResult);
-            }
+        String[] carts = new String[CARTS_PER_SCENARIO];
+        for (int i = 0; i < carts.length; i++) {
+            String randomItem = getRandomItem();
+            int quantity = random.nextInt(100) + 1;
+            carts[i] = randomItem + " " + quantity;
         }
+        results.add(runScenario("single item", carts, 1));
         
         return results;
     }
     
+    private static ArrayList<TestResult> runSmallBatchTests() {
+        return runBatchTests("small batch", new int[] {5, 10});
+    }
+    
     private static ArrayList<TestResult> runMediumBatchTests() {
-        ArrayList<TestResult> results = new ArrayList<TestResult>();
-        
-        int[] batchSizes = {50, 100};
-        for (int batchSize : batchSizes) {
-            for (int test = 0; test < 3; test++) {
-                String input = generateRandomItemInput(batchSize);
-                
-                long startTime = System.nanoTime();
-                double[] result = ItemValueCalculator.calculateTotal(input);
-                long endTime = System.nanoTime();
-                
-                TestResult testResult = new TestResult("medium batch " + batchSize + " items #" + (test+1), 
-                    batchSize, endTime - startTime, result[0], (int)result[1]);
-                results.add(testResult);
-                System.out.println(testResult);
-            }
-        }
-        
-        return results;
+        return runBatchTests("medium batch", new int[] {50, 100});
     }
     
     private static ArrayList<TestResult> runLargeBatchTests() {
+        return runBatchTests("large batch", new int[] {500, 1000});
+    }
+    
+    private static ArrayList<TestResult> runBatchTests(String name, int[] batchSizes) {
         ArrayList<TestResult> results = new ArrayList<TestResult>();
         
-        int[] batchSizes = {500, 1000};
         for (int batchSize : batchSizes) {
-            for (int test = 0; test < 2; test++) {
-                String input = generateRandomItemInput(batchSize);
-                
-                long startTime = System.nanoTime();
-                double[] result = ItemValueCalculator.calculateTotal(input);
-                long endTime = System.nanoTime();
-                
-                TestResult testResult = new TestResult("large batch " + batchSize + " items #" + (test+1), 
-                    batchSize, endTime - startTime, result[0], (int)result[1]);
-                results.add(testResult);
-                System.out.println(testResult);
+            String[] carts = new String[CARTS_PER_SCENARIO];
+            for (int i = 0; i < carts.length; i++) {
+                carts[i] = generateRandomItemInput(batchSize);
             }
+            results.add(runScenario(name + " " + batchSize + " items", carts, batchSize));
         }
         
         return results;
@@ -177,7 +245,9 @@ public class PerformanceTestRunner {
         String[] highValueItems = {"beacon", "dragon_head", "nether_star", "skeleton_skull", 
             "creeper_head", "dragon_egg", "elytra", "mace"};
         
-        for (int test = 0; test < 3; test++) {
+        String[] carts = new String[CARTS_PER_SCENARIO];
+        int totalItems = 0;
+        for (int test = 0; test < carts.length; test++) {
             StringBuilder input = new StringBuilder();
             int itemCount = 5 + random.nextInt(15);
             
@@ -187,16 +257,10 @@ public class PerformanceTestRunner {
                 int quantity = random.nextInt(10) + 1;
                 input.append(item).append(" ").append(quantity);
             }
-            
-            long startTime = System.nanoTime();
-            double[] result = ItemValueCalculator.calculateTotal(input.toString());
-            long endTime = System.nanoTime();
-            
-            TestResult testResult = new TestResult("high value Items #" + (test+1), 
-                itemCount, endTime - startTime, result[0], (int)result[1]);
-            results.add(testResult);
-            System.out.println(testResult);
+            carts[test] = input.toString();
+            totalItems += itemCount;
         }
+        results.add(runScenario("high value items", carts, totalItems / carts.length));
         
         return results;
     }
@@ -204,7 +268,9 @@ public class PerformanceTestRunner {
     private static ArrayList<TestResult> runLargeQuantityTests() {
         ArrayList<TestResult> results = new ArrayList<TestResult>();
         
-        for (int test = 0; test < 3; test++) {
+        String[] carts = new String[CARTS_PER_SCENARIO];
+        int totalItems = 0;
+        for (int test = 0; test < carts.length; test++) {
             StringBuilder input = new StringBuilder();
             int itemCount = 10 + random.nextInt(20);
             
@@ -214,16 +280,10 @@ public class PerformanceTestRunner {
                 int quantity = 10000 + random.nextInt(90000);
                 input.append(item).append(" ").append(quantity);
             }
-            
-            long startTime = System.nanoTime();
-            double[] result = ItemValueCalculator.calculateTotal(input.toString());
-            long endTime = System.nanoTime();
-            
-            TestResult testResult = new TestResult("large quantities #" + (test+1), 
-                itemCount, endTime - startTime, result[0], (int)result[1]);
-            results.add(testResult);
-            System.out.println(testResult);
+            carts[test] = input.toString();
+            totalItems += itemCount;
         }
+        results.add(runScenario("large quantities", carts, totalItems / carts.length));
         
         return results;
     }
@@ -235,9 +295,10 @@ public class PerformanceTestRunner {
         String[] mediumItems = {"iron_ingot", "gold_ingot", "diamond", "emerald", "apple"};
         String[] expensiveItems = {"beacon", "dragon_egg", "elytra", "netherite_ingot"};
         
-        for (int test = 0; test < 3; test++) {
+        String[] carts = new String[CARTS_PER_SCENARIO];
+        int totalItems = 30;
+        for (int test = 0; test < carts.length; test++) {
             StringBuilder input = new StringBuilder();
-            int totalItems = 30;
             
             for (int i = 0; i < totalItems; i++) {
                 if (i > 0) input.append(", ");
@@ -254,18 +315,689 @@ public class PerformanceTestRunner {
                 int quantity = random.nextInt(1000) + 1;
                 input.append(item).append(" ").append(quantity);
             }
+            carts[test] = input.toString();
+        }
+        results.add(runScenario("mixed item types", carts, totalItems));
+        
+        return results;
+    }
+    
+    private static void runBatchKernelTests() {
+        int itemCount = ItemValueCalculator.getItemCount();
+        double[] prices = new double[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            prices[i] = ItemValueCalculator.getItemValue(i);
+        }
+        
+        // unknown ids mixed in, negative and past the end, must be skipped like the scalar loop does
+        int mixedSize = 1003;
+        int[] mixedIds = new int[mixedSize];
+        int[] mixedQuantities = new int[mixedSize];
+        for (int i = 0; i < mixedSize; i++) {
+            int pick = random.nextInt(4);
+            mixedIds[i] = pick == 0 ? -1 - random.nextInt(1000) : pick == 1 ? itemCount + random.nextInt(1000) : random.nextInt(itemCount);
+            mixedQuantities[i] = random.nextInt(1000) + 1;
+        }
+        double scalarMixed = BatchPricer.SCALAR.total(prices, mixedIds, mixedQuantities, mixedSize);
+        double kernelMixed = BatchPricer.KERNEL.total(prices, mixedIds, mixedQuantities, mixedSize);
+        boolean mixedOk = Math.abs(scalarMixed - kernelMixed) <= 1e-9 * Math.abs(scalarMixed);
+        System.out.printf("mixed known/unknown ids: scalar %.2f, kernel %.2f%s\n",
+            scalarMixed, kernelMixed, mixedOk ? "" : "  MISMATCH");
+        
+        int[] batchSizes = {500, 1000};
+        for (int batchSize : batchSizes) {
+            int[] ids = new int[batchSize];
+            int[] quantities = new int[batchSize];
+            for (int i = 0; i < batchSize; i++) {
+                ids[i] = random.nextInt(itemCount);
+                quantities[i] = random.nextInt(1000) + 1;
+            }
+            
+            int iterations = 20000;
+            double sink = 0;
+            for (int i = 0; i < iterations; i++) {
+                sink += BatchPricer.SCALAR.total(prices, ids, quantities, batchSize);
+                sink += BatchPricer.KERNEL.total(prices, ids, quantities, batchSize);
+            }
             
             long startTime = System.nanoTime();
-            double[] result = ItemValueCalculator.calculateTotal(input.toString());
-            long endTime = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                sink += BatchPricer.SCALAR.total(prices, ids, quantities, batchSize);
+            }
+            long scalarTime = System.nanoTime() - startTime;
             
-            TestResult testResult = new TestResult("mixed item types #" + (test+1), 
-                totalItems, endTime - startTime, result[0], (int)result[1]);
-            results.add(testResult);
-            System.out.println(testResult);
+            startTime = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                sink += BatchPricer.KERNEL.total(prices, ids, quantities, batchSize);
+            }
+            long kernelTime = System.nanoTime() - startTime;
+            
+            double scalarPerItem = (double) scalarTime / iterations / batchSize;
+            double kernelPerItem = (double) kernelTime / iterations / batchSize;
+            System.out.printf("batch %d items: scalar %.2f ns/item, kernel %.2f ns/item, %.2fx (checksum %.0f)\n",
+                batchSize, scalarPerItem, kernelPerItem, scalarPerItem / kernelPerItem, sink);
         }
+    }
+    
+    // Live updates keep the double and fixed-point prices in step: whole hundredths are
+    // taken and price the same both ways, anything finer is refused and changes nothing.
+    // Runs on a private LiveCatalog so the global catalog is left alone.
+    private static void runLivePriceCheck() {
+        LiveCatalog live = new LiveCatalog(CatalogSnapshot.loadDefault());
+        int id = random.nextInt(live.size());
+        String cart = live.nameAt(id) + " 3";
+        int wrong = 0;
         
-        return results;
+        double[] accepted = {0.01, 0.1, 19.99, 1234567.89, 0.0};
+        for (double price : accepted) {
+            live.update(id, price);
+            double total = ItemValueCalculator.sumCart(live, cart, 0, cart.length(), null);
+            long fixed = ItemValueCalculator.sumCartFixed(live, cart, 0, cart.length(), null);
+            if (live.fixedPriceAt(id) != Math.round(price * ItemValueCalculator.PRICE_SCALE)
+                    || Math.round(total * ItemValueCalculator.PRICE_SCALE) != fixed) {
+                wrong++;
+            }
+        }
+        
+        double[] refused = {0.001, 19.999, 1.0 / 3, Double.NaN, Double.POSITIVE_INFINITY};
+        for (double price : refused) {
+            try {
+                live.update(id, price);
+                wrong++;
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+            if (live.priceAt(id) != 0.0 || live.fixedPriceAt(id) != 0) {
+                wrong++;
+            }
+        }
+        System.out.printf("live price updates: %d whole-hundredth prices agree, %d finer prices refused%s\n",
+            accepted.length, refused.length, wrong > 0 ? "  " + wrong + " wrong" : "");
+    }
+    
+    /**
+     * Drives calculateTotal from N platform threads and then N virtual threads at once,
+     * sweeping N from 1 to the number of cores, and reports aggregate throughput and
+     * the mean call latency seen by each thread.
+     */
+    public static void runConcurrentLoadTests() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        reseed();
+        String[] carts = new String[256];
+        for (int i = 0; i < carts.length; i++) {
+            carts[i] = generateRandomItemInput(100);
+        }
+        record("concurrent load", carts);
+        
+        boolean virtualThreads = virtualThreadBuilder() != null;
+        if (!virtualThreads) {
+            System.out.println("virtual threads need jdk 21+, running platform threads only");
+        }
+        
+        ArrayList<Integer> threadCounts = new ArrayList<Integer>();
+        for (int threads = 1; threads < cores; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(cores);
+        
+        for (int threads : threadCounts) {
+            runLoad("platform", threads, carts, 100, false);
+            if (virtualThreads) {
+                runLoad("virtual", threads, carts, 100, true);
+            }
+        }
+    }
+    
+    private static double runLoad(String kind, int threadCount, String[] carts, int itemsPerCart, boolean virtual) {
+        long durationNanos = 500000000L; // 500ms per run
+        long[] calls = new long[threadCount];
+        long[] busyNanos = new long[threadCount];
+        double[] sinks = new double[threadCount];
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[threadCount];
+        
+        for (int t = 0; t < threadCount; t++) {
+            final int index = t;
+            Runnable worker = () -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long deadline = System.nanoTime() + durationNanos;
+                int next = index * 31;
+                long count = 0;
+                long busy = 0;
+                double sink = 0;
+                long now;
+                while ((now = System.nanoTime()) < deadline) {
+                    double[] result = ItemValueCalculator.calculateTotal(carts[next++ & (carts.length - 1)]);
+                    busy += System.nanoTime() - now;
+                    sink += result[0];
+                    count++;
+                }
+                calls[index] = count;
+                busyNanos[index] = busy;
+                sinks[index] = sink;
+            };
+            threads[t] = virtual ? newVirtualThread(worker) : new Thread(worker);
+            threads[t].start();
+        }
+        
+        long startTime = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return 0;
+            }
+        }
+        long elapsed = System.nanoTime() - startTime;
+        
+        long totalCalls = 0;
+        double minLatency = Double.MAX_VALUE;
+        double maxLatency = 0;
+        for (int t = 0; t < threadCount; t++) {
+            totalCalls += calls[t];
+            double latency = calls[t] > 0 ? (double) busyNanos[t] / calls[t] : 0;
+            minLatency = Math.min(minLatency, latency);
+            maxLatency = Math.max(maxLatency, latency);
+        }
+        double cartsPerSecond = totalCalls * 1000000000.0 / elapsed;
+        System.out.printf("%s %d threads: %.0f carts/sec, %.0f items/sec, per-thread latency %.2f - %.2f us\n",
+            kind, threadCount, cartsPerSecond, cartsPerSecond * itemsPerCart, minLatency / 1000.0, maxLatency / 1000.0);
+        return cartsPerSecond;
+    }
+    
+    /**
+     * Open loop driver: requests are issued on a fixed schedule at the offered rate
+     * whether or not earlier ones have finished, and latency is measured from the
+     * time a request was due, not from when a busy worker got round to it. A closed
+     * loop test waits out every slow call before starting the next one, so queueing
+     * delay never shows up in its percentiles (coordinated omission).
+     *
+     * Measures closed loop capacity first, then sweeps the offered rate from 10% to
+     * 120% of it. -Dperf.rate=<carts/sec> runs a single rate instead.
+     */
+    public static void runOpenLoopTests() {
+        Long fixedRate = Long.getLong(RATE_PROPERTY);
+        if (fixedRate != null && fixedRate <= 0) {
+            // a zero or negative rate has no schedule, the workers would never finish
+            System.out.println("usage: -D" + RATE_PROPERTY + "=<carts/sec>, a positive rate, got " + fixedRate);
+            return;
+        }
+        int workers = Runtime.getRuntime().availableProcessors();
+        reseed();
+        String[] carts = new String[256];
+        for (int i = 0; i < carts.length; i++) {
+            carts[i] = generateRandomItemInput(10);
+        }
+        record("open loop", carts);
+        
+        System.out.print("closed loop capacity, ");
+        double capacity = runLoad("platform", workers, carts, 10, false);
+        
+        double[] rates;
+        if (fixedRate != null) {
+            rates = new double[] {fixedRate};
+        } else {
+            double[] fractions = {0.1, 0.25, 0.5, 0.75, 0.9, 1.0, 1.2};
+            rates = new double[fractions.length];
+            for (int i = 0; i < fractions.length; i++) {
+                rates[i] = capacity * fractions[i];
+            }
+        }
+        
+        System.out.printf("%12s %12s %10s %10s %10s %10s %10s %16s\n",
+            "offered/s", "achieved/s", "p50", "p90", "p99", "p99.9", "max", "uncorrected p99");
+        for (double rate : rates) {
+            runOpenLoop(rate, workers, carts);
+        }
+    }
+    
+    private static void runOpenLoop(double rate, int workerCount, String[] carts) {
+        long durationNanos = 1000000000L; // 1s per rate
+        double intervalNanos = 1000000000.0 / rate;
+        LatencyHistogram[] corrected = new LatencyHistogram[workerCount];
+        LatencyHistogram[] uncorrected = new LatencyHistogram[workerCount];
+        double[] sinks = new double[workerCount];
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[workerCount];
+        // every worker starts from the same schedule origin, set just before release
+        long[] origin = new long[1];
+        
+        for (int t = 0; t < workerCount; t++) {
+            final int index = t;
+            corrected[t] = new LatencyHistogram();
+            uncorrected[t] = new LatencyHistogram();
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long startTime = origin[0];
+                long endTime = startTime + durationNanos;
+                // worker t takes requests t, t + workers, t + 2 * workers, ...
+                long request = index;
+                int next = index * 31;
+                double sink = 0;
+                while (true) {
+                    long due = startTime + (long) (request * intervalNanos);
+                    if (due >= endTime) {
+                        break;
+                    }
+                    waitUntil(due);
+                    long callStart = System.nanoTime();
+                    double[] result = ItemValueCalculator.calculateTotal(carts[next++ & (carts.length - 1)]);
+                    long callEnd = System.nanoTime();
+                    corrected[index].record(callEnd - due);
+                    uncorrected[index].record(callEnd - callStart);
+                    sink += result[0];
+                    request += workerCount;
+                }
+                sinks[index] = sink;
+            });
+            threads[t].start();
+        }
+        
+        origin[0] = System.nanoTime() + 10000000L; // 10ms for the workers to reach the schedule
+        start.countDown();
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        long elapsed = System.nanoTime() - origin[0];
+        
+        LatencyHistogram latencies = new LatencyHistogram();
+        LatencyHistogram service = new LatencyHistogram();
+        for (int t = 0; t < workerCount; t++) {
+            latencies.add(corrected[t]);
+            service.add(uncorrected[t]);
+            checksum += sinks[t];
+        }
+        double achieved = latencies.count() * 1000000000.0 / elapsed;
+        System.out.printf("%12.0f %12.0f %10s %10s %10s %10s %10s %16s%s\n",
+            rate, achieved, micros(latencies.valueAtPercentile(50)), micros(latencies.valueAtPercentile(90)),
+            micros(latencies.valueAtPercentile(99)), micros(latencies.valueAtPercentile(99.9)),
+            micros(latencies.max()), micros(service.valueAtPercentile(99)),
+            achieved < rate * 0.95 ? "  saturated" : "");
+    }
+    
+    /**
+     * Starts a PricingServer on loopback and drives POST /price from 1 up to 64
+     * concurrent clients over kept-alive connections, reporting requests/sec and
+     * request latency percentiles at each level.
+     */
+    public static void runHttpLoadTests() {
+        reseed();
+        String[] carts = new String[256];
+        for (int i = 0; i < carts.length; i++) {
+            carts[i] = generateRandomItemInput(5);
+        }
+        record("http load", carts);
+        
+        PricingServer.preferNoDelay();
+        PricingServer server;
+        try {
+            server = PricingServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        } catch (IOException e) {
+            System.out.println("could not start the pricing server: " + e.getMessage());
+            return;
+        }
+        try {
+            InetSocketAddress address = server.address();
+            System.out.println("server on " + address + (server.usesVirtualThreads() ? ", virtual threads" : ", thread pool"));
+            try (KeepAliveClient warmup = new KeepAliveClient(address)) {
+                for (int i = 0; i < 2000; i++) {
+                    warmup.post(PricingServer.PRICE_PATH, carts[i & (carts.length - 1)]);
+                }
+            } catch (IOException e) {
+                System.out.println("warmup failed: " + e.getMessage());
+                return;
+            }
+            System.out.printf("%8s %12s %10s %10s %10s %10s\n", "clients", "requests/s", "p50", "p99", "p99.9", "max");
+            for (int clients = 1; clients <= 64; clients *= 2) {
+                runHttpLoad(address, clients, carts);
+            }
+        } finally {
+            server.stop();
+        }
+    }
+    
+    private static void runHttpLoad(InetSocketAddress address, int clientCount, String[] carts) {
+        long durationNanos = 1000000000L; // 1s per level
+        LatencyHistogram[] latencies = new LatencyHistogram[clientCount];
+        int[] failures = new int[clientCount];
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[clientCount];
+        
+        for (int t = 0; t < clientCount; t++) {
+            final int index = t;
+            latencies[t] = new LatencyHistogram();
+            threads[t] = new Thread(() -> {
+                try (KeepAliveClient client = new KeepAliveClient(address)) {
+                    start.await();
+                    long deadline = System.nanoTime() + durationNanos;
+                    int next = index * 31;
+                    long now;
+                    while ((now = System.nanoTime()) < deadline) {
+                        if (client.post(PricingServer.PRICE_PATH, carts[next++ & (carts.length - 1)]) != 200) {
+                            failures[index]++;
+                        }
+                        latencies[index].record(System.nanoTime() - now);
+                    }
+                } catch (IOException e) {
+                    failures[index]++;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads[t].start();
+        }
+        
+        long startTime = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        long elapsed = System.nanoTime() - startTime;
+        
+        LatencyHistogram all = new LatencyHistogram();
+        int failed = 0;
+        for (int t = 0; t < clientCount; t++) {
+            all.add(latencies[t]);
+            failed += failures[t];
+        }
+        System.out.printf("%8d %12.0f %10s %10s %10s %10s%s\n",
+            clientCount, all.count() * 1000000000.0 / elapsed, micros(all.valueAtPercentile(50)),
+            micros(all.valueAtPercentile(99)), micros(all.valueAtPercentile(99.9)), micros(all.max()),
+            failed > 0 ? "  " + failed + " failed" : "");
+    }
+    
+    /**
+     * Starts a BinaryPricingServer on loopback and drives it from one connection
+     * with 1 up to 256 requests in flight, reporting requests/sec and request
+     * latency percentiles at each depth. Every response is checked against the
+     * in-process total.
+     */
+    public static void runBinaryLoadTests() {
+        reseed();
+        int itemCount = ItemValueCalculator.getItemCount();
+        int cartCount = 256;
+        int itemsPerCart = 5;
+        int[][] ids = new int[cartCount][itemsPerCart];
+        int[][] quantities = new int[cartCount][itemsPerCart];
+        double[] expected = new double[cartCount];
+        for (int c = 0; c < cartCount; c++) {
+            for (int i = 0; i < itemsPerCart; i++) {
+                ids[c][i] = random.nextInt(itemCount);
+                quantities[c][i] = random.nextInt(1000) + 1;
+            }
+            expected[c] = ItemValueCalculator.calculateTotal(ids[c], quantities[c], itemsPerCart)[0];
+        }
+        
+        BinaryPricingServer server;
+        try {
+            server = BinaryPricingServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        } catch (IOException e) {
+            System.out.println("could not start the binary pricing server: " + e.getMessage());
+            return;
+        }
+        try (server) {
+            InetSocketAddress address = server.address();
+            System.out.println("binary server on " + address);
+            try (BinaryPricingClient warmup = new BinaryPricingClient(address)) {
+                for (int i = 0; i < 20000; i++) {
+                    int cart = i & (cartCount - 1);
+                    checksum += warmup.price(ids[cart], quantities[cart], itemsPerCart);
+                }
+            }
+            System.out.printf("%8s %12s %10s %10s %10s %10s\n", "depth", "requests/s", "p50", "p99", "p99.9", "max");
+            for (int depth : new int[]{1, 8, 64, 256}) {
+                runBinaryLoad(address, depth, ids, quantities, expected);
+            }
+        } catch (IOException e) {
+            System.out.println("binary load test failed: " + e.getMessage());
+        }
+    }
+    
+    private static void runBinaryLoad(InetSocketAddress address, int depth, int[][] ids, int[][] quantities,
+                                      double[] expected) throws IOException {
+        long durationNanos = 1000000000L; // 1s per depth
+        LatencyHistogram latencies = new LatencyHistogram();
+        long[] sentAt = new long[depth];
+        int mask = ids.length - 1;
+        int mismatches = 0;
+        
+        try (BinaryPricingClient client = new BinaryPricingClient(address)) {
+            int sent = 0;
+            int received = 0;
+            long start = System.nanoTime();
+            long deadline = start + durationNanos;
+            while (true) {
+                boolean sending = System.nanoTime() < deadline;
+                if (!sending && received == sent) {
+                    break;
+                }
+                // top the window up, then take every response that has arrived
+                while (sending && sent - received < depth) {
+                    int cart = sent & mask;
+                    sentAt[sent % depth] = System.nanoTime();
+                    client.send(sent, ids[cart], quantities[cart], ids[cart].length);
+                    sent++;
+                }
+                client.flush();
+                do {
+                    client.receive();
+                    latencies.record(System.nanoTime() - sentAt[received % depth]);
+                    if (client.requestId() != received || client.total() != expected[received & mask]) {
+                        mismatches++;
+                    }
+                    received++;
+                } while (client.hasResponse());
+            }
+            long elapsed = System.nanoTime() - start;
+            
+            System.out.printf("%8d %12.0f %10s %10s %10s %10s%s\n",
+                depth, received * 1000000000.0 / elapsed, micros(latencies.valueAtPercentile(50)),
+                micros(latencies.valueAtPercentile(99)), micros(latencies.valueAtPercentile(99.9)),
+                micros(latencies.max()), mismatches > 0 ? "  " + mismatches + " wrong" : "");
+        }
+    }
+    
+    /**
+     * Bare HTTP/1.1 client on one kept-alive socket, just enough to load the
+     * pricing server. The JDK HttpClient costs more per request than the server
+     * does, which would make the load test measure the client.
+     */
+    private static final class KeepAliveClient implements Closeable {
+        private final Socket socket;
+        private final OutputStream out;
+        private final InputStream in;
+        private final String host;
+        private final StringBuilder line = new StringBuilder();
+        
+        KeepAliveClient(InetSocketAddress address) throws IOException {
+            socket = new Socket(address.getAddress(), address.getPort());
+            socket.setTcpNoDelay(true);
+            out = new BufferedOutputStream(socket.getOutputStream());
+            in = new BufferedInputStream(socket.getInputStream());
+            host = address.getHostString() + ":" + address.getPort();
+        }
+        
+        /** sends one request and reads the whole response, returns the status */
+        int post(String path, String body) throws IOException {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            out.write(("POST " + path + " HTTP/1.1\r\nHost: " + host + "\r\nContent-Length: " + bytes.length
+                + "\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1));
+            out.write(bytes);
+            out.flush();
+            
+            String status = readLine();
+            int contentLength = 0;
+            String header;
+            while (!(header = readLine()).isEmpty()) {
+                if (header.regionMatches(true, 0, "content-length:", 0, 15)) {
+                    contentLength = Integer.parseInt(header.substring(15).trim());
+                }
+            }
+            for (int i = 0; i < contentLength; i++) {
+                if (in.read() < 0) {
+                    throw new EOFException("response cut short");
+                }
+            }
+            return Integer.parseInt(status.substring(9, 12));
+        }
+        
+        private String readLine() throws IOException {
+            line.setLength(0);
+            int c;
+            while ((c = in.read()) != '\n') {
+                if (c < 0) {
+                    throw new EOFException("connection closed");
+                }
+                if (c != '\r') {
+                    line.append((char) c);
+                }
+            }
+            return line.toString();
+        }
+        
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+    
+    // parks while the deadline is far off, spins for the last stretch for accuracy
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            if (remaining > 100000) {
+                LockSupport.parkNanos(remaining - 50000);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+    
+    // Thread.ofVirtual() through reflection so this still builds and runs before jdk 21
+    private static Object virtualThreadBuilder() {
+        try {
+            return Thread.class.getMethod("ofVirtual").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+    
+    private static Thread newVirtualThread(Runnable task) {
+        try {
+            Object builder = virtualThreadBuilder();
+            return (Thread) Class.forName("java.lang.Thread$Builder")
+                .getMethod("unstarted", Runnable.class).invoke(builder, task);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("virtual threads are not available", e);
+        }
+    }
+    
+    /**
+     * Prices the carts recorded in a workload file, in file order, and reports the
+     * latency percentiles and a checksum of the totals. Two builds that agree on
+     * every cart print the same checksum.
+     */
+    public static void runReplay(Path file) throws IOException {
+        List<String> recorded = WorkloadFile.read(file);
+        if (recorded.isEmpty()) {
+            System.out.println("no carts in " + file);
+            return;
+        }
+        String[] carts = recorded.toArray(new String[0]);
+        
+        for (int i = 0; i < Math.max(1000, carts.length); i++) {
+            ItemValueCalculator.calculateTotal(carts[i % carts.length]);
+        }
+        
+        LatencyHistogram latencies = new LatencyHistogram();
+        double totalValue = 0;
+        long totalTokens = 0;
+        int rounds = Math.max(1, 20000 / carts.length);
+        for (int round = 0; round < rounds; round++) {
+            for (String cart : carts) {
+                long startTime = System.nanoTime();
+                double[] result = ItemValueCalculator.calculateTotal(cart);
+                long endTime = System.nanoTime();
+                latencies.record(endTime - startTime);
+                if (round == 0) {
+                    totalValue += result[0];
+                    totalTokens += (long) result[1];
+                }
+            }
+        }
+        
+        System.out.printf("replayed %d carts x %d: p50 %s, p90 %s, p99 %s, p99.9 %s, max %s\n",
+            carts.length, rounds, micros(latencies.valueAtPercentile(50)), micros(latencies.valueAtPercentile(90)),
+            micros(latencies.valueAtPercentile(99)), micros(latencies.valueAtPercentile(99.9)), micros(latencies.max()));
+        System.out.printf("checksum: total value %.2f, tokens %d\n", totalValue, totalTokens);
+    }
+    
+    private static long reseed() {
+        long seed = Long.getLong(SEED_PROPERTY, DEFAULT_SEED);
+        random = new Random(seed);
+        return seed;
+    }
+    
+    private static void startRecording() {
+        String file = System.getProperty(RECORD_PROPERTY);
+        if (file == null) {
+            return;
+        }
+        try {
+            recorder = WorkloadFile.record(Paths.get(file));
+            recorder.comment("seed " + Long.getLong(SEED_PROPERTY, DEFAULT_SEED));
+            System.out.println("recording carts to " + file);
+        } catch (IOException e) {
+            System.out.println("could not record to " + file + ": " + e.getMessage());
+        }
+    }
+    
+    private static void record(String scenario, String[] carts) {
+        if (recorder == null) {
+            return;
+        }
+        try {
+            recorder.comment(scenario);
+            for (String cart : carts) {
+                recorder.record(cart);
+            }
+        } catch (IOException e) {
+            System.out.println("recording stopped: " + e.getMessage());
+            stopRecording();
+        }
+    }
+    
+    private static void stopRecording() {
+        if (recorder == null) {
+            return;
+        }
+        try {
+            recorder.close();
+            System.out.println("recorded " + recorder.count() + " carts");
+        } catch (IOException e) {
+            System.out.println("could not finish recording: " + e.getMessage());
+        }
+        recorder = null;
     }
     
     private static String generateRandomItemInput(int itemCount) {
@@ -286,34 +1018,78 @@ public class PerformanceTestRunner {
     }
     
     private static void printPerformanceSummary(ArrayList<TestResult> results) {
-        long minTime = Long.MAX_VALUE;
-        long maxTime = 0;
-        long totalTime = 0;
-        
+        LatencyHistogram all = new LatencyHistogram();
         TestResult fastestTest = null;
         TestResult slowestTest = null;
         
+        System.out.printf("%-26s %6s %8s %10s %10s %10s %10s %10s\n",
+            "scenario", "items", "runs", "p50", "p90", "p99", "p99.9", "max");
         for (TestResult result : results) {
-            totalTime += result.executionTimeNanos;
+            LatencyHistogram latencies = result.latencies;
+            all.add(latencies);
+            System.out.printf("%-26s %6d %8d %10s %10s %10s %10s %10s\n",
+                result.testName, result.itemCount, latencies.count(),
+                micros(latencies.valueAtPercentile(50)), micros(latencies.valueAtPercentile(90)),
+                micros(latencies.valueAtPercentile(99)), micros(latencies.valueAtPercentile(99.9)),
+                micros(latencies.max()));
             
-            if (result.executionTimeNanos < minTime) {
-                minTime = result.executionTimeNanos;
+            if (fastestTest == null || latencies.valueAtPercentile(99) < fastestTest.latencies.valueAtPercentile(99)) {
                 fastestTest = result;
             }
-            
-            if (result.executionTimeNanos > maxTime) {
-                maxTime = result.executionTimeNanos;
+            if (slowestTest == null || latencies.valueAtPercentile(99) > slowestTest.latencies.valueAtPercentile(99)) {
                 slowestTest = result;
             }
         }
         
-        double avgTime = (double) totalTime / results.size();
+        System.out.printf("\ntotal calls: %d across %d scenarios\n", all.count(), results.size());
+        System.out.printf("mean call: %s, max call: %s\n", micros((long) all.mean()), micros(all.max()));
+        System.out.printf("lowest p99: %s (%s)\n", micros(fastestTest.latencies.valueAtPercentile(99)), fastestTest.testName);
+        System.out.printf("highest p99: %s (%s)\n", micros(slowestTest.latencies.valueAtPercentile(99)), slowestTest.testName);
+    }
+    
+    /** prints bytes per cart and per item for each scenario, false if any is over budget */
+    private static boolean printAllocationReport(ArrayList<TestResult> results) {
+        if (results.isEmpty() || results.get(0).allocatedBytes < 0) {
+            System.out.println("allocation counters are not available on this jvm");
+            return true;
+        }
+        long budget = Long.getLong(ALLOC_BUDGET_PROPERTY, DEFAULT_ALLOC_BUDGET);
+        int overBudget = 0;
+        
+        System.out.printf("%-26s %12s %12s\n", "scenario", "bytes/cart", "bytes/item");
+        for (TestResult result : results) {
+            double perCart = (double) result.allocatedBytes / result.latencies.count();
+            boolean over = perCart > budget;
+            if (over) {
+                overBudget++;
+            }
+            System.out.printf("%-26s %12.1f %12.2f%s\n", result.testName, perCart,
+                perCart / result.itemCount, over ? "  OVER BUDGET" : "");
+        }
         
-        System.out.printf("total tests: %d\n", results.size());
-        System.out.printf("average time: %.2f ms\n", avgTime / 1000000.0);
-        System.out.printf("fastest test: %.2f ms (%s)\n", minTime / 1000000.0, fastestTest.testName);
-        System.out.printf("slowest test: %.2f ms (%s)\n", maxTime / 1000000.0, slowestTest.testName);
-        System.out.printf("performance range: %.2fx difference\n", (double)maxTime / minTime);
+        if (overBudget == 0) {
+            System.out.printf("all scenarios within %d bytes/cart (-D%s)\n", budget, ALLOC_BUDGET_PROPERTY);
+            return true;
+        }
+        System.out.printf("FAILED: %d/%d scenarios allocate more than %d bytes/cart\n",
+            overBudget, results.size(), budget);
+        return false;
+    }
+    
+    // bytes allocated by this thread so far, -1 if the jvm doesn't count them
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+            if (hotspot.isThreadAllocatedMemorySupported() && hotspot.isThreadAllocatedMemoryEnabled()) {
+                return hotspot.getCurrentThreadAllocatedBytes();
+            }
+        }
+        return -1;
+    }
+    
+    private static String micros(long nanos) {
+        return String.format("%.2fus", nanos / 1000.0);
     }
     
     private static void analyzeOptimization(ArrayList<TestResult> results) {
@@ -324,15 +1100,17 @@ public class PerformanceTestRunner {
         double largeBatchThroughput = 0;
         int singleCount = 0, mediumCount = 0, largeCount = 0;
         
+        // throughput from the median call, so one gc pause doesn't skew it
         for (TestResult result : results) {
+            long median = Math.max(1, result.latencies.valueAtPercentile(50));
             if (result.itemCount == 1) {
-                singleItemThroughput += (result.itemCount * 1000000000.0) / result.executionTimeNanos;
+                singleItemThroughput += (result.itemCount * 1000000000.0) / median;
                 singleCount++;
             } else if (result.itemCount >= 50 && result.itemCount <= 100) {
-                mediumBatchThroughput += (result.itemCount * 1000000000.0) / result.executionTimeNanos;
+                mediumBatchThroughput += (result.itemCount * 1000000000.0) / median;
                 mediumCount++;
             } else if (result.itemCount >= 1000) {
-                largeBatchThroughput += (result.itemCount * 1000000000.0) / result.executionTimeNanos;
+                largeBatchThroughput += (result.itemCount * 1000000000.0) / median;
                 largeCount++;
             }
         }
@@ -362,12 +1140,12 @@ public class PerformanceTestRunner {
         long threshold = 50000000; // 50ms threshold
         int slowTests = 0;
         for (TestResult result : results) {
-            if (result.executionTimeNanos > threshold) {
+            if (result.latencies.valueAtPercentile(99.9) > threshold) {
                 slowTests++;
             }
         }
         
-        System.out.printf("tests over 50ms threshold: %d/%d\n", slowTests, results.size());
+        System.out.printf("scenarios with p99.9 over 50ms: %d/%d\n", slowTests, results.size());
         
         if (slowTests == 0) {
             System.out.println("EXCELLENT: All tests under performance threshold");
@@ -0,0 +1,285 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+
+/**
+ * Minimal perfect hash table from item name to price.
+ * Built once from the catalog with hash-and-displace: keys are grouped into
+ * buckets, and every bucket gets a displacement that sends its keys to free
+ * slots, so each of the n names owns exactly one of n slots. A lookup is one
+ * hash over the chars plus a single compare against the name in that slot.
+ *
+ * Names and prices are kept in the order they were given to build(), and that
+ * position is the item id; the slots only hold ids.
+ */
+final class PriceTable implements Catalog {
+    private static final int KEYS_PER_BUCKET = 4;
+    private static final int MAX_DISPLACEMENT = 1 << 20;
+    // distinct keys almost always place on the first seed or two
+    private static final int MAX_SEEDS = 64;
+
+    private final int seed;
+    private final int[] displacements;
+    private final int[] slotIds;
+    private final String[] names;
+    private final double[] prices;
+    private final long[] fixedPrices;
+    private final boolean asciiNames;
+
+    private PriceTable(int seed, int[] displacements, int[] slotIds, String[] names, double[] prices) {
+        this.seed = seed;
+        this.displacements = displacements;
+        this.slotIds = slotIds;
+        this.names = names;
+        this.prices = prices;
+        this.fixedPrices = new long[prices.length];
+        for (int i = 0; i < prices.length; i++) {
+            fixedPrices[i] = toFixed(prices[i]);
+        }
+        this.asciiNames = isAscii(names);
+    }
+
+    /** rebuilds a table from the parts written by a snapshot, without searching again */
+    static PriceTable of(int seed, int[] displacements, int[] slotIds, String[] names, double[] prices) {
+        if (slotIds.length != names.length || prices.length != names.length
+                || (displacements.length == 0) != (names.length == 0)) {
+            throw new IllegalArgumentException("perfect hash does not match the catalog size");
+        }
+        for (int id : slotIds) {
+            if (id < 0 || id >= names.length) {
+                throw new IllegalArgumentException("perfect hash slot points outside the catalog: " + id);
+            }
+        }
+        return new PriceTable(seed, displacements, slotIds, names, prices);
+    }
+
+    static PriceTable build(String[] keys, double[] values) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("keys and values differ in length");
+        }
+        // two equal keys always land in the same slot, no seed can separate them
+        HashSet<String> seen = new HashSet<String>(keys.length * 2);
+        for (String key : keys) {
+            if (!seen.add(key)) {
+                throw new IllegalArgumentException("duplicate item name: " + key);
+            }
+        }
+        for (int seed = 1; seed <= MAX_SEEDS; seed++) {
+            PriceTable table = tryBuild(seed, keys, values);
+            if (table != null) {
+                return table;
+            }
+        }
+        throw new IllegalArgumentException("no perfect hash found for " + keys.length + " names in " + MAX_SEEDS + " seeds");
+    }
+
+    private static PriceTable tryBuild(int seed, String[] keys, double[] values) {
+        int n = keys.length;
+        int bucketCount = Math.max(1, n / KEYS_PER_BUCKET);
+
+        int[] hashes = new int[n];
+        int[] bucketSizes = new int[bucketCount];
+        for (int i = 0; i < n; i++) {
+            hashes[i] = hash(seed, keys[i], 0, keys[i].length());
+            bucketSizes[bucket(hashes[i], bucketCount)]++;
+        }
+
+        // keys grouped by bucket, biggest buckets placed first
+        int[] bucketStart = new int[bucketCount + 1];
+        for (int b = 0; b < bucketCount; b++) {
+            bucketStart[b + 1] = bucketStart[b] + bucketSizes[b];
+        }
+        int[] fill = bucketStart.clone();
+        int[] members = new int[n];
+        for (int i = 0; i < n; i++) {
+            members[fill[bucket(hashes[i], bucketCount)]++] = i;
+        }
+        int maxSize = 0;
+        for (int size : bucketSizes) {
+            maxSize = Math.max(maxSize, size);
+        }
+        int[] order = new int[bucketCount];
+        int next = 0;
+        for (int size = maxSize; size > 0; size--) {
+            for (int b = 0; b < bucketCount; b++) {
+                if (bucketSizes[b] == size) {
+                    order[next++] = b;
+                }
+            }
+        }
+        order = Arrays.copyOf(order, next);
+
+        int[] displacements = new int[bucketCount];
+        boolean[] taken = new boolean[n];
+        int[] slots = new int[KEYS_PER_BUCKET * 8];
+        int[] slotIds = new int[n];
+
+        for (int b : order) {
+            int size = bucketSizes[b];
+            if (size > slots.length) {
+                slots = new int[size];
+            }
+            int d = 0;
+            search:
+            while (true) {
+                if (++d == MAX_DISPLACEMENT) {
+                    return null;
+                }
+                for (int k = 0; k < size; k++) {
+                    int slot = slot(hashes[members[bucketStart[b] + k]], d, n);
+                    if (taken[slot]) {
+                        continue search;
+                    }
+                    for (int j = 0; j < k; j++) {
+                        if (slots[j] == slot) {
+                            continue search;
+                        }
+                    }
+                    slots[k] = slot;
+                }
+                break;
+            }
+            displacements[b] = d;
+            for (int k = 0; k < size; k++) {
+                taken[slots[k]] = true;
+                slotIds[slots[k]] = members[bucketStart[b] + k];
+            }
+        }
+        return new PriceTable(seed, displacements, slotIds, keys.clone(), values.clone());
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    int seed() {
+        return seed;
+    }
+
+    int[] displacements() {
+        return displacements;
+    }
+
+    int[] slotIds() {
+        return slotIds;
+    }
+
+    public int indexOf(CharSequence s, int from, int to) {
+        if (names.length == 0) {
+            return -1;
+        }
+        int h = hash(seed, s, from, to);
+        int id = slotIds[slot(h, displacements[bucket(h, displacements.length)], names.length)];
+        return matches(names[id], s, from, to) ? id : -1;
+    }
+
+    // ASCII bytes hash the same as their chars, so raw bytes can be looked up directly
+    public int indexOf(ByteBuffer bytes, int from, int to) {
+        if (!asciiNames) {
+            return Catalog.super.indexOf(bytes, from, to);
+        }
+        if (names.length == 0) {
+            return -1;
+        }
+        int h = hash(seed, bytes, from, to);
+        int id = slotIds[slot(h, displacements[bucket(h, displacements.length)], names.length)];
+        String name = names[id];
+        int length = to - from;
+        if (name.length() != length) {
+            return -1;
+        }
+        for (int i = 0; i < length; i++) {
+            if (name.charAt(i) != bytes.get(from + i)) {
+                return -1;
+            }
+        }
+        return id;
+    }
+
+    public String nameAt(int id) {
+        return names[id];
+    }
+
+    public double priceAt(int id) {
+        return prices[id];
+    }
+
+    public long fixedPriceAt(int id) {
+        return fixedPrices[id];
+    }
+
+    public double[] priceArray() {
+        return prices;
+    }
+
+    // prices are rounded to the nearest hundredth
+    static long toFixed(double price) {
+        return Math.round(price * ItemValueCalculator.PRICE_SCALE);
+    }
+
+    private static boolean matches(String name, CharSequence s, int from, int to) {
+        int length = to - from;
+        if (name.length() != length) {
+            return false;
+        }
+        if (s instanceof String) {
+            return name.regionMatches(0, (String) s, from, length);
+        }
+        for (int i = 0; i < length; i++) {
+            if (name.charAt(i) != s.charAt(from + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // FNV-1a over the chars, finished with the murmur3 mixer
+    static int hash(int seed, CharSequence s, int from, int to) {
+        int h = 0x811C9DC5 ^ seed;
+        for (int i = from; i < to; i++) {
+            h = (h ^ s.charAt(i)) * 0x01000193;
+        }
+        return mix(h);
+    }
+
+    static int hash(int seed, ByteBuffer bytes, int from, int to) {
+        int h = 0x811C9DC5 ^ seed;
+        for (int i = from; i < to; i++) {
+            h = (h ^ (bytes.get(i) & 0xFF)) * 0x01000193;
+        }
+        return mix(h);
+    }
+
+    static boolean isAscii(String[] names) {
+        for (String name : names) {
+            for (int i = 0; i < name.length(); i++) {
+                if (name.charAt(i) >= 0x80) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    static int bucket(int h, int bucketCount) {
+        return range(h, bucketCount);
+    }
+
+    static int slot(int h, int displacement, int n) {
+        return range(mix(h ^ (displacement * 0x9E3779B9)), n);
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    // maps a 32 bit hash onto [0, n) without a division
+    private static int range(int h, int n) {
+        return (int) (((h & 0xFFFFFFFFL) * n) >>> 32);
+    }
+}
@@ -0,0 +1,208 @@
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Counters and stage latencies for every ItemValueCalculator pricing call,
+ * whatever the input (see PricingTally), exposed over JMX.
+ * Off unless the JVM starts with -Dpricing.metrics=true. ENABLED is a static
+ * final read once, so with metrics off the JIT drops the checks and the
+ * pricing path is the same code as without them.
+ *
+ * Counts are LongAdders, added once per cart, so threads pricing at the same
+ * time don't contend on one cache line. Timing every entry would cost more
+ * than the lookup it measures, so only one cart in -Dpricing.metrics.sample
+ * (default 64) is timed, split into parse time (scanning entries) and lookup
+ * time (catalog lookups and pricing).
+ */
+public final class PricingMetrics implements PricingMetricsMBean {
+    static final String ENABLED_PROPERTY = "pricing.metrics";
+    static final String SAMPLE_PROPERTY = "pricing.metrics.sample";
+    static final String OBJECT_NAME = "pricing:type=ItemValueCalculator";
+
+    static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+    private static final int SAMPLE_EVERY = Math.max(1, Integer.getInteger(SAMPLE_PROPERTY, 64));
+    private static final int STRIPES = 8;
+
+    /** null when metrics are off */
+    static final PricingMetrics INSTANCE = ENABLED ? register(new PricingMetrics()) : null;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder itemsPriced = new LongAdder();
+    private final LongAdder unknownItems = new LongAdder();
+    private final LongAdder invalidQuantities = new LongAdder();
+    private final LongAdder invalidFormats = new LongAdder();
+    private final LongAdder sampledCalls = new LongAdder();
+
+    // one set of histograms per stripe, each guarded by its call histogram
+    private final LatencyHistogram[] callNanos = new LatencyHistogram[STRIPES];
+    private final LatencyHistogram[] parseNanos = new LatencyHistogram[STRIPES];
+    private final LatencyHistogram[] lookupNanos = new LatencyHistogram[STRIPES];
+
+    private PricingMetrics() {
+        for (int i = 0; i < STRIPES; i++) {
+            callNanos[i] = new LatencyHistogram();
+            parseNanos[i] = new LatencyHistogram();
+            lookupNanos[i] = new LatencyHistogram();
+        }
+    }
+
+    private static PricingMetrics register(PricingMetrics metrics) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            throw new IllegalStateException("could not register " + OBJECT_NAME, e);
+        }
+        return metrics;
+    }
+
+    /** whether this call should be timed */
+    static boolean sample() {
+        return ThreadLocalRandom.current().nextInt(SAMPLE_EVERY) == 0;
+    }
+
+    void record(int priced, int unknown, int badQuantities, int badFormats) {
+        calls.increment();
+        if (priced != 0) {
+            itemsPriced.add(priced);
+        }
+        if (unknown != 0) {
+            unknownItems.add(unknown);
+        }
+        if (badQuantities != 0) {
+            invalidQuantities.add(badQuantities);
+        }
+        if (badFormats != 0) {
+            invalidFormats.add(badFormats);
+        }
+    }
+
+    void recordTimes(long call, long parse, long lookup) {
+        sampledCalls.increment();
+        int stripe = ThreadLocalRandom.current().nextInt(STRIPES);
+        synchronized (callNanos[stripe]) {
+            callNanos[stripe].record(call);
+            parseNanos[stripe].record(parse);
+            lookupNanos[stripe].record(lookup);
+        }
+    }
+
+    @Override
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    @Override
+    public long getItemsPriced() {
+        return itemsPriced.sum();
+    }
+
+    @Override
+    public long getUnknownItems() {
+        return unknownItems.sum();
+    }
+
+    @Override
+    public long getInvalidQuantities() {
+        return invalidQuantities.sum();
+    }
+
+    @Override
+    public long getInvalidFormats() {
+        return invalidFormats.sum();
+    }
+
+    @Override
+    public long getSampledCalls() {
+        return sampledCalls.sum();
+    }
+
+    @Override
+    public long getCallNanosP50() {
+        return percentile(callNanos, 50);
+    }
+
+    @Override
+    public long getCallNanosP99() {
+        return percentile(callNanos, 99);
+    }
+
+    @Override
+    public long getCallNanosP999() {
+        return percentile(callNanos, 99.9);
+    }
+
+    @Override
+    public long getCallNanosMax() {
+        return percentile(callNanos, 100);
+    }
+
+    @Override
+    public long getParseNanosP50() {
+        return percentile(parseNanos, 50);
+    }
+
+    @Override
+    public long getParseNanosP99() {
+        return percentile(parseNanos, 99);
+    }
+
+    @Override
+    public long getParseNanosP999() {
+        return percentile(parseNanos, 99.9);
+    }
+
+    @Override
+    public long getParseNanosMax() {
+        return percentile(parseNanos, 100);
+    }
+
+    @Override
+    public long getLookupNanosP50() {
+        return percentile(lookupNanos, 50);
+    }
+
+    @Override
+    public long getLookupNanosP99() {
+        return percentile(lookupNanos, 99);
+    }
+
+    @Override
+    public long getLookupNanosP999() {
+        return percentile(lookupNanos, 99.9);
+    }
+
+    @Override
+    public long getLookupNanosMax() {
+        return percentile(lookupNanos, 100);
+    }
+
+    @Override
+    public void reset() {
+        calls.reset();
+        itemsPriced.reset();
+        unknownItems.reset();
+        invalidQuantities.reset();
+        invalidFormats.reset();
+        sampledCalls.reset();
+        for (int i = 0; i < STRIPES; i++) {
+            synchronized (callNanos[i]) {
+                callNanos[i].reset();
+                parseNanos[i].reset();
+                lookupNanos[i].reset();
+            }
+        }
+    }
+
+    private long percentile(LatencyHistogram[] stripes, double percentile) {
+        LatencyHistogram merged = new LatencyHistogram();
+        for (int i = 0; i < STRIPES; i++) {
+            synchronized (callNanos[i]) {
+                merged.add(stripes[i]);
+            }
+        }
+        return merged.valueAtPercentile(percentile);
+    }
+}
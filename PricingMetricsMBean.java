@@ -0,0 +1,43 @@
+/**
+ * JMX view of PricingMetrics, registered as pricing:type=ItemValueCalculator.
+ * Latencies are in nanoseconds per cart, from sampled calls.
+ */
+public interface PricingMetricsMBean {
+    long getCalls();
+
+    long getItemsPriced();
+
+    long getUnknownItems();
+
+    long getInvalidQuantities();
+
+    long getInvalidFormats();
+
+    long getSampledCalls();
+
+    long getCallNanosP50();
+
+    long getCallNanosP99();
+
+    long getCallNanosP999();
+
+    long getCallNanosMax();
+
+    long getParseNanosP50();
+
+    long getParseNanosP99();
+
+    long getParseNanosP999();
+
+    long getParseNanosMax();
+
+    long getLookupNanosP50();
+
+    long getLookupNanosP99();
+
+    long getLookupNanosP999();
+
+    long getLookupNanosMax();
+
+    void reset();
+}
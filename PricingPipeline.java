@@ -0,0 +1,352 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Batch pricing in three overlapping stages: the calling thread reads carts,
+ * N workers price them and one writer thread writes "total tokens" lines in
+ * input order.
+ *
+ * Each worker owns a preallocated ring that all three stages share: the
+ * reader fills slots, the worker prices them in place and the writer drains
+ * them, each behind its own cursor. Cart n goes to ring n % N and the writer
+ * visits the rings in the same order, so output order is input order without
+ * a reorder buffer. A full ring blocks the reader, so a slow writer or slow
+ * workers hold back reading instead of piling carts up in memory.
+ *
+ * The Report tells how each stage spent its time and how full the rings ran;
+ * the stage with the highest busy share is the bottleneck.
+ */
+final class PricingPipeline {
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    // cursors sit 128 bytes apart so the three stages don't false share
+    private static final int PAD = 16;
+    private static final int PUBLISHED = PAD;
+    private static final int PRICED = 2 * PAD;
+    private static final int WRITTEN = 3 * PAD;
+    private static final int FLUSH_LINES = 8192;
+    private static final int SAMPLE_EVERY = 64;
+
+    private final int workerCount;
+    private final int ringSize;
+
+    private Ring[] rings;
+    private volatile long totalCarts;
+    private final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+    private long[] workerWaitNanos;
+    private long writerWaitNanos;
+
+    /** one ring's slots and cursors, written by the reader, its worker and the writer */
+    private static final class Ring {
+        final int mask;
+        final String[] carts;
+        final double[] totals;
+        final int[] tokens;
+        final long[] cursors = new long[4 * PAD];
+        volatile boolean closed;
+
+        Ring(int size) {
+            mask = size - 1;
+            carts = new String[size];
+            totals = new double[size];
+            tokens = new int[size];
+        }
+
+        long get(int cursor) {
+            return (long) LONGS.getAcquire(cursors, cursor);
+        }
+
+        void set(int cursor, long value) {
+            LONGS.setRelease(cursors, cursor, value);
+        }
+    }
+
+    /** how the stages spent a run */
+    static final class Report {
+        long carts;
+        long elapsedNanos;
+        int workers;
+        int ringSize;
+        long readerWaitNanos;   // blocked on full rings
+        long workerWaitNanos;   // summed over workers, waiting for carts
+        long writerWaitNanos;   // waiting for priced carts
+        double toPrice;         // mean carts waiting for a worker, per ring
+        double toWrite;         // mean priced carts waiting for the writer, per ring
+
+        double cartsPerSecond() {
+            return carts * 1e9 / Math.max(1, elapsedNanos);
+        }
+
+        double readerBusy() {
+            return busy(readerWaitNanos, 1);
+        }
+
+        double workerBusy() {
+            return busy(workerWaitNanos, workers);
+        }
+
+        double writerBusy() {
+            return busy(writerWaitNanos, 1);
+        }
+
+        String bottleneck() {
+            double reader = readerBusy();
+            double workers = workerBusy();
+            double writer = writerBusy();
+            if (workers >= reader && workers >= writer) {
+                return "pricing";
+            }
+            return reader >= writer ? "reading" : "writing";
+        }
+
+        private double busy(long waitNanos, int threads) {
+            return elapsedNanos == 0 ? 0 : Math.max(0, 1 - (double) waitNanos / threads / elapsedNanos);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                "pipeline: %d carts in %.1f ms (%.0f carts/sec), %d workers, rings of %d%n"
+                    + "reader   busy %3.0f%%, blocked on full rings %3.0f%%%n"
+                    + "pricing  busy %3.0f%%, waiting for carts %3.0f%%%n"
+                    + "writer   busy %3.0f%%, waiting for prices %3.0f%%%n"
+                    + "rings    %.0f%% full on average: %.1f carts to price, %.1f to write%n"
+                    + "bottleneck: %s",
+                carts, elapsedNanos / 1e6, cartsPerSecond(), workers, ringSize,
+                readerBusy() * 100, (1 - readerBusy()) * 100,
+                workerBusy() * 100, (1 - workerBusy()) * 100,
+                writerBusy() * 100, (1 - writerBusy()) * 100,
+                (toPrice + toWrite) * 100 / ringSize, toPrice, toWrite, bottleneck());
+        }
+    }
+
+    PricingPipeline(int workerCount, int ringSize) {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("need at least one worker: " + workerCount);
+        }
+        if (ringSize < 2 || Integer.bitCount(ringSize) != 1) {
+            throw new IllegalArgumentException("ring size must be a power of two: " + ringSize);
+        }
+        this.workerCount = workerCount;
+        this.ringSize = ringSize;
+    }
+
+    /**
+     * Prices every line of in and writes the results to out, which is flushed
+     * but not closed. Not reentrant, one run at a time per pipeline.
+     */
+    synchronized Report run(BufferedReader in, Writer out) throws IOException {
+        rings = new Ring[workerCount];
+        workerWaitNanos = new long[workerCount];
+        writerWaitNanos = 0;
+        totalCarts = -1;
+        failure.set(null);
+
+        Thread[] threads = new Thread[workerCount + 1];
+        for (int w = 0; w < workerCount; w++) {
+            rings[w] = new Ring(ringSize);
+            final int index = w;
+            threads[w] = new Thread(() -> price(index), "pricing-worker-" + w);
+        }
+        threads[workerCount] = new Thread(() -> write(out), "pricing-writer");
+
+        Report report = new Report();
+        report.workers = workerCount;
+        report.ringSize = ringSize;
+        long start = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        try {
+            read(in, report);
+        } finally {
+            for (Ring ring : rings) {
+                ring.closed = true;
+            }
+            if (totalCarts < 0) {
+                // reading failed part way, stop the other stages where they are
+                fail(new IOException("reading stopped"));
+            }
+            joinAll(threads);
+        }
+        report.elapsedNanos = System.nanoTime() - start;
+
+        Throwable failed = failure.get();
+        if (failed instanceof UncheckedIOException) {
+            throw ((UncheckedIOException) failed).getCause();
+        } else if (failed instanceof RuntimeException) {
+            throw (RuntimeException) failed;
+        } else if (failed instanceof Error) {
+            throw (Error) failed;
+        }
+        for (long wait : workerWaitNanos) {
+            report.workerWaitNanos += wait;
+        }
+        report.writerWaitNanos = writerWaitNanos;
+        return report;
+    }
+
+    private void read(BufferedReader in, Report report) throws IOException {
+        long[] published = new long[workerCount];
+        long carts = 0;
+        long samples = 0;
+        long toPrice = 0;
+        long toWrite = 0;
+        long waitNanos = 0;
+        int next = 0;
+
+        String line;
+        while ((line = in.readLine()) != null && failure.get() == null) {
+            Ring ring = rings[next];
+            long seq = published[next];
+            if (seq - ring.get(WRITTEN) >= ringSize) {
+                long waitStart = System.nanoTime();
+                for (int attempt = 0; seq - ring.get(WRITTEN) >= ringSize && failure.get() == null; attempt++) {
+                    idle(attempt);
+                }
+                waitNanos += System.nanoTime() - waitStart;
+            }
+            ring.carts[(int) seq & ring.mask] = line;
+            ring.set(PUBLISHED, seq + 1);
+            published[next] = seq + 1;
+
+            if (carts % SAMPLE_EVERY == 0) {
+                long priced = ring.get(PRICED);
+                toPrice += seq + 1 - priced;
+                toWrite += priced - ring.get(WRITTEN);
+                samples++;
+            }
+            carts++;
+            if (++next == workerCount) {
+                next = 0;
+            }
+        }
+
+        report.carts = carts;
+        report.readerWaitNanos = waitNanos;
+        report.toPrice = samples == 0 ? 0 : (double) toPrice / samples;
+        report.toWrite = samples == 0 ? 0 : (double) toWrite / samples;
+        if (failure.get() == null) {
+            totalCarts = carts;
+        }
+    }
+
+    private void price(int index) {
+        Ring ring = rings[index];
+        long priced = 0;
+        long waitNanos = 0;
+        try {
+            while (failure.get() == null) {
+                boolean closed = ring.closed;
+                long published = ring.get(PUBLISHED);
+                if (published > priced) {
+                    // price everything published so far, then let the writer see it
+                    for (; priced < published; priced++) {
+                        int slot = (int) priced & ring.mask;
+                        double[] result = ItemValueCalculator.calculateTotal(ring.carts[slot].toLowerCase(Locale.ROOT));
+                        ring.totals[slot] = result[0];
+                        ring.tokens[slot] = (int) result[1];
+                        ring.carts[slot] = null;
+                    }
+                    ring.set(PRICED, priced);
+                } else if (closed) {
+                    break;
+                } else {
+                    long waitStart = System.nanoTime();
+                    for (int attempt = 0; ring.get(PUBLISHED) == priced && !ring.closed && failure.get() == null; attempt++) {
+                        idle(attempt);
+                    }
+                    waitNanos += System.nanoTime() - waitStart;
+                }
+            }
+        } catch (Throwable e) {
+            fail(e);
+        }
+        workerWaitNanos[index] = waitNanos;
+    }
+
+    private void write(Writer out) {
+        long[] written = new long[workerCount];
+        StringBuilder line = new StringBuilder(32);
+        long waitNanos = 0;
+        long seq = 0;
+        int next = 0;
+        try {
+            while (failure.get() == null) {
+                Ring ring = rings[next];
+                long slot = written[next];
+                if (ring.get(PRICED) <= slot) {
+                    if (totalCarts == seq) {
+                        break;
+                    }
+                    // nothing to write yet, hand what we have to the os first
+                    out.flush();
+                    long waitStart = System.nanoTime();
+                    for (int attempt = 0; ring.get(PRICED) <= slot && totalCarts != seq && failure.get() == null; attempt++) {
+                        idle(attempt);
+                    }
+                    waitNanos += System.nanoTime() - waitStart;
+                    continue;
+                }
+
+                int at = (int) slot & ring.mask;
+                line.setLength(0);
+                line.append(ring.totals[at]).append(' ').append(ring.tokens[at]).append('\n');
+                out.append(line);
+                ring.set(WRITTEN, slot + 1);
+                written[next] = slot + 1;
+                if (++seq % FLUSH_LINES == 0) {
+                    out.flush();
+                }
+                if (++next == workerCount) {
+                    next = 0;
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            fail(new UncheckedIOException(e));
+        } catch (Throwable e) {
+            fail(e);
+        }
+        writerWaitNanos = waitNanos;
+    }
+
+    // first failure wins, the other stages see it and stop
+    private void fail(Throwable e) {
+        failure.compareAndSet(null, e);
+    }
+
+    private static void joinAll(Thread[] threads) {
+        boolean interrupted = false;
+        for (Thread thread : threads) {
+            while (true) {
+                try {
+                    thread.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // spin briefly, then yield, then park, so an idle stage doesn't hold a core
+    private static void idle(int attempt) {
+        if (attempt < 64) {
+            Thread.onSpinWait();
+        } else if (attempt < 128) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(20000);
+        }
+    }
+}
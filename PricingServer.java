@@ -0,0 +1,220 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded HTTP pricing service on the JDK's com.sun.net.httpserver.
+ *
+ *   POST /price         body is one cart, e.g. "diamond 5, iron_ingot 32"
+ *   GET  /price?cart=.. same, cart URL encoded
+ *   POST /price/batch   body is one cart per line
+ *
+ * Responses are text/plain "total tokens" lines, one per cart, in request
+ * order. Carts are lowercased like the command line does. Connections are
+ * kept alive between requests (HTTP/1.1, every response has a length).
+ * Each request runs on its own virtual thread on JDK 21+, found through
+ * reflection so this still builds on 17, where a cached pool is used instead.
+ *
+ * Request bodies over -Dpricing.server.maxBodyBytes (1 MiB) are refused with
+ * 413, and GET /price without a cart parameter with 400.
+ *
+ * The JDK server writes headers and body separately, so with Nagle on every
+ * response waits for the client's delayed ack (~40ms). Launchers call
+ * preferNoDelay() before the first start().
+ */
+final class PricingServer {
+    static final String PRICE_PATH = "/price";
+    static final String BATCH_PATH = "/price/batch";
+    private static final int BACKLOG = 1024;
+    private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+    static final String MAX_BODY_PROPERTY = "pricing.server.maxBodyBytes";
+    private static final int MAX_BODY_BYTES = Integer.getInteger(MAX_BODY_PROPERTY, 1 << 20);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+
+    private PricingServer(HttpServer server, ExecutorService executor, boolean virtualThreads) {
+        this.server = server;
+        this.executor = executor;
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Turns on TCP_NODELAY for the JDK http server unless -Dsun.net.httpserver.nodelay
+     * was given. It is a process-wide setting the JDK reads once, so this only has an
+     * effect before the first server in the process starts.
+     */
+    static void preferNoDelay() {
+        if (System.getProperty(NODELAY_PROPERTY) == null) {
+            System.setProperty(NODELAY_PROPERTY, "true");
+        }
+    }
+
+    /** binds and starts serving, port 0 picks a free port */
+    static PricingServer start(InetSocketAddress address) throws IOException {
+        HttpServer server = HttpServer.create(address, BACKLOG);
+        ExecutorService executor = virtualThreadExecutor();
+        boolean virtual = executor != null;
+        if (!virtual) {
+            executor = Executors.newCachedThreadPool();
+        }
+        server.setExecutor(executor);
+        server.createContext(PRICE_PATH, PricingServer::handlePrice);
+        server.createContext(BATCH_PATH, PricingServer::handleBatch);
+        server.start();
+        return new PricingServer(server, executor, virtual);
+    }
+
+    InetSocketAddress address() {
+        return server.getAddress();
+    }
+
+    boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    private static void handlePrice(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestURI().getPath().equals(PRICE_PATH)) {
+                send(exchange, 404, "not found\n");
+                return;
+            }
+            String cart;
+            String method = exchange.getRequestMethod();
+            if (method.equals("POST")) {
+                cart = readBody(exchange);
+                if (cart == null) {
+                    return;
+                }
+            } else if (method.equals("GET")) {
+                cart = queryParameter(exchange.getRequestURI().getRawQuery(), "cart");
+                if (cart == null) {
+                    send(exchange, 400, "missing cart parameter\n");
+                    return;
+                }
+            } else {
+                exchange.getResponseHeaders().set("Allow", "GET, POST");
+                send(exchange, 405, "use GET or POST\n");
+                return;
+            }
+            StringBuilder out = new StringBuilder(32);
+            appendPrice(out, cart);
+            send(exchange, 200, out);
+        }
+    }
+
+    private static void handleBatch(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestURI().getPath().equals(BATCH_PATH)) {
+                send(exchange, 404, "not found\n");
+                return;
+            }
+            if (!exchange.getRequestMethod().equals("POST")) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                send(exchange, 405, "use POST\n");
+                return;
+            }
+            String body = readBody(exchange);
+            if (body == null) {
+                return;
+            }
+            StringBuilder out = new StringBuilder(32);
+            int from = 0;
+            while (from < body.length()) {
+                int end = body.indexOf('\n', from);
+                int next = end < 0 ? body.length() : end + 1;
+                if (end < 0) {
+                    end = body.length();
+                }
+                if (end > from && body.charAt(end - 1) == '\r') {
+                    end--;
+                }
+                appendPrice(out, body.substring(from, end));
+                from = next;
+            }
+            send(exchange, 200, out);
+        }
+    }
+
+    private static void appendPrice(StringBuilder out, String cart) {
+        double[] result = ItemValueCalculator.calculateTotal(cart.toLowerCase(Locale.ROOT));
+        out.append(result[0]).append(' ').append((int) result[1]).append('\n');
+    }
+
+    // the body as text, or null after answering 413 when it is over MAX_BODY_BYTES
+    private static String readBody(HttpExchange exchange) throws IOException {
+        byte[] body;
+        String length = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (length != null && length.length() > 0 && isTooLong(length)) {
+            body = null;
+        } else {
+            try (InputStream in = exchange.getRequestBody()) {
+                // one byte over the limit is enough to know, chunked bodies included
+                body = in.readNBytes(MAX_BODY_BYTES + 1);
+            }
+            if (body.length > MAX_BODY_BYTES) {
+                body = null;
+            }
+        }
+        if (body == null) {
+            // the rest of the body is left unread, so don't reuse the connection
+            exchange.getResponseHeaders().set("Connection", "close");
+            send(exchange, 413, "body over " + MAX_BODY_BYTES + " bytes\n");
+            return null;
+        }
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isTooLong(String contentLength) {
+        try {
+            return Long.parseLong(contentLength.trim()) > MAX_BODY_BYTES;
+        } catch (NumberFormatException e) {
+            return false; // the server itself rejects a malformed length
+        }
+    }
+
+    private static String queryParameter(String rawQuery, String name) {
+        if (rawQuery != null) {
+            for (String pair : rawQuery.split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq > 0 && pair.substring(0, eq).equals(name)) {
+                    return URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void send(HttpExchange exchange, int status, CharSequence body) throws IOException {
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        // 0 would mean chunked, -1 is an empty body
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() through reflection, null before jdk 21
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Entry counts and stage times of one pricing call, for PricingMetrics and
+ * CartEvaluationEvent. Every ItemValueCalculator entry point opens a tally
+ * with begin(), hands it to the summing loops on each attempt and closes it
+ * with end(), so the string, byte, stream, id, batch and parallel paths are
+ * all counted the same way in one place.
+ *
+ * begin() returns null unless metrics are on or a recording takes the
+ * events, and the static helpers accept null. With no recording ever started
+ * an unmeasured call pays one volatile read (FlightRecorder.isInitialized())
+ * and the null checks; once the recorder is up, begin() also asks the event
+ * type whether it is enabled, a field read and a branch. A measured call reuses its thread's tally and event, so
+ * it allocates nothing either. The event times the whole call; the loops
+ * only read the clock to split it into parse and lookup time on the one call
+ * in -Dpricing.metrics.sample that is sampled.
+ */
+final class PricingTally {
+    private static final ThreadLocal<PricingTally> PER_THREAD = new ThreadLocal<PricingTally>();
+
+    private boolean open;
+    private boolean timed;
+    private boolean recording;
+    private CartEvaluationEvent event; // created on the first recorded call, then reused
+    private long start;
+
+    int priced;
+    int unknown;
+    int badQuantities;
+    int badFormats;
+    long parseNanos;
+    long lookupNanos;
+
+    // what the windows already accepted counted, each attempt starts again from here
+    private int keptPriced;
+    private int keptUnknown;
+    private int keptBadQuantities;
+    private int keptBadFormats;
+    private long keptParseNanos;
+    private long keptLookupNanos;
+    private int attempts;
+    private int windows;
+
+    private PricingTally() {
+    }
+
+    /** a tally for one call, or null when nothing is measuring */
+    static PricingTally begin() {
+        boolean events = cartEventsEnabled();
+        if (!PricingMetrics.ENABLED && !events) {
+            return null;
+        }
+        PricingTally tally = PER_THREAD.get();
+        if (tally == null || tally.open) {
+            // first call on this thread, or a call made while another one is open on it
+            // (a fork/join worker running other work while it joins); the open one keeps its tally
+            tally = new PricingTally();
+            PER_THREAD.set(tally);
+        }
+        tally.open(PricingMetrics.sample(), events);
+        return tally;
+    }
+
+    private void open(boolean sampled, boolean events) {
+        open = true;
+        timed = sampled;
+        recording = events;
+        priced = unknown = badQuantities = badFormats = 0;
+        keptPriced = keptUnknown = keptBadQuantities = keptBadFormats = 0;
+        parseNanos = lookupNanos = keptParseNanos = keptLookupNanos = 0;
+        attempts = windows = 0;
+        if (events) {
+            if (event == null) {
+                event = new CartEvaluationEvent();
+            }
+            event.begin();
+        }
+        start = sampled ? System.nanoTime() : 0;
+    }
+
+    /** starts an attempt, dropping what a failed attempt at the same window counted */
+    static PricingTally attempt(PricingTally tally) {
+        if (tally != null) {
+            tally.attempts++;
+            tally.priced = tally.keptPriced;
+            tally.unknown = tally.keptUnknown;
+            tally.badQuantities = tally.keptBadQuantities;
+            tally.badFormats = tally.keptBadFormats;
+            tally.parseNanos = tally.keptParseNanos;
+            tally.lookupNanos = tally.keptLookupNanos;
+        }
+        return tally;
+    }
+
+    /** keeps the counts of a streamed window whose attempt held */
+    static void keep(PricingTally tally) {
+        if (tally != null) {
+            tally.windows++;
+            tally.keptPriced = tally.priced;
+            tally.keptUnknown = tally.unknown;
+            tally.keptBadQuantities = tally.badQuantities;
+            tally.keptBadFormats = tally.badFormats;
+            tally.keptParseNanos = tally.parseNanos;
+            tally.keptLookupNanos = tally.lookupNanos;
+        }
+    }
+
+    /** a tally for one piece of a parallel call, null if the call has none */
+    static PricingTally part(PricingTally tally) {
+        if (tally == null) {
+            return null;
+        }
+        PricingTally part = new PricingTally();
+        part.timed = tally.timed;
+        return part;
+    }
+
+    /** adds a part's counts; stage times add up over threads */
+    void add(PricingTally part) {
+        priced += part.priced;
+        unknown += part.unknown;
+        badQuantities += part.badQuantities;
+        badFormats += part.badFormats;
+        parseNanos += part.parseNanos;
+        lookupNanos += part.lookupNanos;
+    }
+
+    /** closes the call: length is chars, bytes or ids depending on the entry point */
+    static void end(PricingTally tally, long length, double total) {
+        if (tally == null) {
+            return;
+        }
+        tally.open = false;
+        if (PricingMetrics.ENABLED) {
+            PricingMetrics metrics = PricingMetrics.INSTANCE;
+            metrics.record(tally.priced, tally.unknown, tally.badQuantities, tally.badFormats);
+            if (tally.timed) {
+                metrics.recordTimes(System.nanoTime() - tally.start, tally.parseNanos, tally.lookupNanos);
+            }
+        }
+        if (tally.recording) {
+            CartEvaluationEvent event = tally.event;
+            event.end();
+            if (event.shouldCommit()) {
+                event.cartLength = (int) Math.min(length, Integer.MAX_VALUE);
+                event.itemCount = tally.priced + tally.unknown;
+                event.missCount = tally.unknown;
+                event.invalidCount = tally.badQuantities + tally.badFormats;
+                event.total = total;
+                event.parseTime = tally.parseNanos;
+                event.lookupTime = tally.lookupNanos;
+                event.retries = tally.attempts - Math.max(1, tally.windows);
+                event.commit();
+            }
+        }
+    }
+
+    boolean timed() {
+        return timed;
+    }
+
+    /** an entry that scanned as valid, known or not */
+    void item(boolean known) {
+        if (known) {
+            priced++;
+        } else {
+            unknown++;
+        }
+    }
+
+    /** an entry the scanner rejected, kind is CartScanner.INVALID_QUANTITY or INVALID_FORMAT */
+    void invalid(int kind) {
+        if (kind == CartScanner.INVALID_QUANTITY) {
+            badQuantities++;
+        } else {
+            badFormats++;
+        }
+    }
+
+    /** adds the time since mark to parsing, returns the new mark */
+    long parsed(long mark) {
+        long now = System.nanoTime();
+        parseNanos += now - mark;
+        return now;
+    }
+
+    /** adds the time since mark to lookups, returns the new mark */
+    long lookedUp(long mark) {
+        long now = System.nanoTime();
+        lookupNanos += now - mark;
+        return now;
+    }
+
+    // Loading an event class starts the flight recorder's machinery, a few hundred ms,
+    // so nothing touches CartEvaluationEvent until a recording has been started. Asked
+    // on every call rather than cached: a FlightRecorderListener that could keep a flag
+    // instead costs ~25 ms to register at startup.
+    private static boolean cartEventsEnabled() {
+        return FlightRecorder.isInitialized() && CartEvents.PROBE.isEnabled();
+    }
+
+    private static final class CartEvents {
+        // only asked isEnabled(), never committed
+        static final CartEvaluationEvent PROBE = new CartEvaluationEvent();
+    }
+}
@@ -0,0 +1,109 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recorded carts, one per line in UTF-8, so two builds can be compared on
+ * exactly the same inputs. Lines starting with # are comments. A cart that
+ * holds a line break, a backslash or a leading # is escaped (\n, \r, \\, \#)
+ * and read back unchanged.
+ */
+final class WorkloadFile {
+
+    private WorkloadFile() {
+    }
+
+    static List<String> read(Path file) throws IOException {
+        ArrayList<String> carts = new ArrayList<String>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.startsWith("#")) {
+                    carts.add(unescape(line));
+                }
+            }
+        }
+        return carts;
+    }
+
+    /** appends to the file, creating it if needed */
+    static Recorder record(Path file) throws IOException {
+        return new Recorder(Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+    }
+
+    /** writes carts as they are priced, safe to share between threads */
+    static final class Recorder implements Closeable {
+        private final BufferedWriter writer;
+        private int count;
+
+        private Recorder(BufferedWriter writer) {
+            this.writer = writer;
+        }
+
+        synchronized void comment(String text) throws IOException {
+            writer.write("# ");
+            writer.write(text.replace('\n', ' ').replace('\r', ' '));
+            writer.newLine();
+        }
+
+        synchronized void record(String cart) throws IOException {
+            writer.write(escape(cart));
+            writer.newLine();
+            count++;
+        }
+
+        synchronized int count() {
+            return count;
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    static String escape(String cart) {
+        StringBuilder out = null;
+        for (int i = 0; i < cart.length(); i++) {
+            char c = cart.charAt(i);
+            String replacement = c == '\n' ? "\\n" : c == '\r' ? "\\r" : c == '\\' ? "\\\\"
+                : c == '#' && i == 0 ? "\\#" : null;
+            if (replacement != null && out == null) {
+                out = new StringBuilder(cart.length() + 8).append(cart, 0, i);
+            }
+            if (out != null) {
+                if (replacement != null) {
+                    out.append(replacement);
+                } else {
+                    out.append(c);
+                }
+            }
+        }
+        return out == null ? cart : out.toString();
+    }
+
+    static String unescape(String line) {
+        if (line.indexOf('\\') < 0) {
+            return line;
+        }
+        StringBuilder out = new StringBuilder(line.length());
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\\' && i + 1 < line.length()) {
+                char next = line.charAt(++i);
+                out.append(next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+}
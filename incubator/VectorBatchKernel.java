@@ -0,0 +1,64 @@
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Batch pricing kernel on the Vector API: gathers prices by id, multiplies by
+ * the quantities and accumulates lane-wise. Kept out of the main sources
+ * because it needs the incubator module. Build and run with:
+ *
+ *   javac --add-modules jdk.incubator.vector -d out *.java incubator/*.java
+ *   java --add-modules jdk.incubator.vector -cp out Main
+ *
+ * BatchPricer falls back to its scalar loop when this class is missing.
+ * Lanes with unknown ids gather slot 0 and are left out of the sum.
+ */
+public final class VectorBatchKernel implements BatchPricer.Kernel {
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    // ints with the same lane count as DOUBLES
+    private static final VectorSpecies<Integer> INTS =
+        VectorSpecies.of(int.class, VectorShape.forBitSize(DOUBLES.vectorBitSize() / 2));
+
+    @Override
+    public double total(double[] prices, int[] ids, int[] quantities, int len) {
+        int count = prices.length;
+        if (count == 0) {
+            return 0.0;
+        }
+        DoubleVector sum = DoubleVector.zero(DOUBLES);
+        // gather indexes with unknown ids pointed at slot 0; a masked gather still
+        // range checks the masked-off lanes on some JDKs (21) and throws
+        int[] safeIds = new int[DOUBLES.length()];
+
+        int i = 0;
+        int upper = DOUBLES.loopBound(len);
+        for (; i < upper; i += DOUBLES.length()) {
+            IntVector idVector = IntVector.fromArray(INTS, ids, i);
+            VectorMask<Integer> known = idVector.compare(VectorOperators.GE, 0)
+                .and(idVector.compare(VectorOperators.LT, count));
+            DoubleVector quantity = (DoubleVector) IntVector.fromArray(INTS, quantities, i)
+                .convertShape(VectorOperators.I2D, DOUBLES, 0);
+
+            if (known.allTrue()) {
+                sum = sum.add(DoubleVector.fromArray(DOUBLES, prices, 0, ids, i).mul(quantity));
+            } else {
+                idVector.blend(0, known.not()).intoArray(safeIds, 0);
+                DoubleVector price = DoubleVector.fromArray(DOUBLES, prices, 0, safeIds, 0);
+                // only the known lanes add their product
+                sum = sum.add(price.mul(quantity), known.cast(DOUBLES));
+            }
+        }
+
+        double total = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < len; i++) {
+            int id = ids[i];
+            if (id >= 0 && id < count) {
+                total += prices[id] * quantities[i];
+            }
+        }
+        return total;
+    }
+}
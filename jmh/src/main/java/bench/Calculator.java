@@ -0,0 +1,78 @@
+package bench;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Random;
+
+/**
+ * Handles into the calculator classes. They live in the default package,
+ * which JMH benchmarks cannot use and named packages cannot import, so the
+ * benchmarks call them through static final MethodHandles; those are
+ * constants to the JIT and inline like direct calls.
+ */
+final class Calculator {
+    static final MethodHandle CALCULATE_TOTAL;
+    static final MethodHandle CALCULATE_TOTAL_IDS;
+    static final MethodHandle GET_ITEM_ID;
+    static final MethodHandle GET_ITEM_VALUE;
+    static final MethodHandle HAS_ITEM;
+    static final MethodHandle GET_ITEM_NAMES;
+
+    // CartScanner is package private, reached with a private lookup
+    static final MethodHandle NEW_SCANNER;
+    static final MethodHandle SCANNER_RESET;
+    static final MethodHandle SCANNER_NEXT;
+    static final MethodHandle SCANNER_QUANTITY;
+    static final int ITEM;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            Class<?> calculator = Class.forName("ItemValueCalculator");
+            CALCULATE_TOTAL = lookup.findStatic(calculator, "calculateTotal",
+                MethodType.methodType(double[].class, String.class));
+            CALCULATE_TOTAL_IDS = lookup.findStatic(calculator, "calculateTotal",
+                MethodType.methodType(double[].class, int[].class, int[].class, int.class));
+            GET_ITEM_ID = lookup.findStatic(calculator, "getItemId",
+                MethodType.methodType(int.class, String.class));
+            GET_ITEM_VALUE = lookup.findStatic(calculator, "getItemValue",
+                MethodType.methodType(double.class, String.class));
+            HAS_ITEM = lookup.findStatic(calculator, "hasItem",
+                MethodType.methodType(boolean.class, String.class));
+            GET_ITEM_NAMES = lookup.findStatic(calculator, "getItemNames",
+                MethodType.methodType(String[].class));
+
+            Class<?> scanner = Class.forName("CartScanner");
+            MethodHandles.Lookup scannerLookup = MethodHandles.privateLookupIn(scanner, lookup);
+            NEW_SCANNER = scannerLookup.findConstructor(scanner, MethodType.methodType(void.class))
+                .asType(MethodType.methodType(Object.class));
+            SCANNER_RESET = scannerLookup.findVirtual(scanner, "reset",
+                    MethodType.methodType(scanner, CharSequence.class, int.class, int.class))
+                .asType(MethodType.methodType(void.class, Object.class, CharSequence.class, int.class, int.class));
+            SCANNER_NEXT = scannerLookup.findVirtual(scanner, "next", MethodType.methodType(int.class))
+                .asType(MethodType.methodType(int.class, Object.class));
+            SCANNER_QUANTITY = scannerLookup.findGetter(scanner, "quantity", int.class)
+                .asType(MethodType.methodType(int.class, Object.class));
+            ITEM = (int) scannerLookup.findStaticGetter(scanner, "ITEM", int.class).invokeExact();
+        } catch (Throwable e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Calculator() {
+    }
+
+    static String[] itemNames() {
+        try {
+            return (String[]) GET_ITEM_NAMES.invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** names that are not in the catalog, shaped like real ones */
+    static String missingName(Random random) {
+        return "missing_item_" + random.nextInt(1_000_000);
+    }
+}
@@ -0,0 +1,106 @@
+package bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Whole-cart pricing at the batch sizes PerformanceTestRunner uses, split into
+ * its parts: parse only (CartScanner, no lookups), lookup only (names already
+ * split, catalog lookups per entry) and price only (ids already resolved).
+ *
+ *   java -jar target/benchmarks.jar CartBenchmark -prof gc
+ *
+ * -prof gc reports gc.alloc.rate.norm, the bytes allocated per call; the
+ * parse and id paths should stay at the few bytes of the result array.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CartBenchmark {
+
+    @Param({"1", "5", "10", "50", "100", "500", "1000"})
+    int items;
+
+    /**
+     * quantities: "name qty" entries like the runner generates;
+     * names: bare names, quantity 1;
+     * misses: every other entry is an unknown name.
+     */
+    @Param({"quantities", "names", "misses"})
+    String shape;
+
+    String cart;
+    String[] names;
+    int[] quantities;
+    int[] ids;
+    Object scanner;
+
+    @Setup
+    public void setUp() throws Throwable {
+        String[] catalog = Calculator.itemNames();
+        Random random = new Random(42);
+        names = new String[items];
+        quantities = new int[items];
+        ids = new int[items];
+
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < items; i++) {
+            boolean miss = shape.equals("misses") && (i & 1) == 1;
+            names[i] = miss ? Calculator.missingName(random) : catalog[random.nextInt(catalog.length)];
+            quantities[i] = shape.equals("names") ? 1 : random.nextInt(1000) + 1;
+            ids[i] = (int) Calculator.GET_ITEM_ID.invokeExact(names[i]);
+
+            if (i > 0) input.append(", ");
+            input.append(names[i]);
+            if (!shape.equals("names")) {
+                input.append(' ').append(quantities[i]);
+            }
+        }
+        cart = input.toString();
+        scanner = Calculator.NEW_SCANNER.invokeExact();
+    }
+
+    @Benchmark
+    public double[] calculateTotal() throws Throwable {
+        return (double[]) Calculator.CALCULATE_TOTAL.invokeExact(cart);
+    }
+
+    @Benchmark
+    public void parseOnly(Blackhole bh) throws Throwable {
+        Calculator.SCANNER_RESET.invokeExact(scanner, (CharSequence) cart, 0, cart.length());
+        int status;
+        while ((status = (int) Calculator.SCANNER_NEXT.invokeExact(scanner)) != 0) {
+            if (status == Calculator.ITEM) {
+                bh.consume((int) Calculator.SCANNER_QUANTITY.invokeExact(scanner));
+            }
+        }
+    }
+
+    @Benchmark
+    public void lookupOnly(Blackhole bh) throws Throwable {
+        for (int i = 0; i < names.length; i++) {
+            bh.consume((double) Calculator.GET_ITEM_VALUE.invokeExact(names[i]) * quantities[i]);
+        }
+    }
+
+    @Benchmark
+    public double[] priceOnly() throws Throwable {
+        return (double[]) Calculator.CALCULATE_TOTAL_IDS.invokeExact(ids, quantities, ids.length);
+    }
+}
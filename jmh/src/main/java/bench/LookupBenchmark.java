@@ -0,0 +1,62 @@
+package bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Single item lookups, hits and misses. Each call takes the next name from a
+ * shuffled ring so the branch predictor and caches see a realistic spread of
+ * items instead of the same one over and over.
+ *
+ *   java -jar target/benchmarks.jar LookupBenchmark -prof gc
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class LookupBenchmark {
+    private static final int RING = 1024;
+
+    @Param({"hit", "miss"})
+    String lookup;
+
+    String[] names = new String[RING];
+    int next;
+
+    @Setup
+    public void setUp() {
+        String[] catalog = Calculator.itemNames();
+        Random random = new Random(42);
+        for (int i = 0; i < RING; i++) {
+            names[i] = lookup.equals("hit") ? catalog[random.nextInt(catalog.length)] : Calculator.missingName(random);
+        }
+    }
+
+    private String nextName() {
+        return names[next++ & (RING - 1)];
+    }
+
+    @Benchmark
+    public boolean hasItem() throws Throwable {
+        return (boolean) Calculator.HAS_ITEM.invokeExact(nextName());
+    }
+
+    @Benchmark
+    public double getItemValue() throws Throwable {
+        return (double) Calculator.GET_ITEM_VALUE.invokeExact(nextName());
+    }
+}